@@ -41,6 +41,7 @@ const JobList = () => {
     const [currentPage, setCurrentPage] = useState(1);
     const [pageSize, setPageSize] = useState(9);
     const [totalItems, setTotalItems] = useState(0);
+    const [facets, setFacets] = useState({});
 
     // Apply modal state
     const [isModalOpen, setIsModalOpen] = useState(false);
@@ -63,6 +64,7 @@ const JobList = () => {
             const params = {
                 page: currentPage - 1, // Backend uses 0-indexed
                 size: pageSize,
+                withFacets: true,
             };
 
             if (keyword) params.keyword = keyword;
@@ -73,6 +75,7 @@ const JobList = () => {
 
             setJobs(res.data.content || []);
             setTotalItems(res.data.totalElements || 0);
+            setFacets(res.data.facets || {});
         } catch (error) {
             console.error("Lỗi tải danh sách việc làm", error);
             // Fallback to old API if search endpoint not available
@@ -92,6 +95,15 @@ const JobList = () => {
         fetchJobs();
     }, [fetchJobs]);
 
+    // Gắn số việc làm vào từng lựa chọn của bộ lọc
+    const withCounts = (options, counts = {}) => options.map(option => {
+        if (!option.value) return option;
+        const count = Object.entries(counts)
+            .filter(([value]) => value.toLowerCase().includes(option.value.toLowerCase()))
+            .reduce((sum, [, n]) => sum + n, 0);
+        return { ...option, label: `${option.label} (${count})` };
+    });
+
     const handleSearch = (value) => {
         setKeyword(value);
         setCurrentPage(1); // Reset to first page
@@ -189,7 +201,8 @@ const JobList = () => {
         }
     };
 
-    const handleViewJob = (job) => {
+    // Danh sách chỉ có thông tin tóm tắt, mô tả / yêu cầu / quyền lợi được tải khi mở chi tiết
+    const handleViewJob = async (job) => {
         setSelectedJob(job);
         setIsDetailModalOpen(true);
         // Set context for suggestions (scoping to current job only)
@@ -198,6 +211,12 @@ const JobList = () => {
             title: job.title,
             id: job.id
         });
+        try {
+            const res = await axiosClient.get(`/recruitment/jobs/${job.id}`);
+            setSelectedJob(res.data);
+        } catch (error) {
+            message.error('Không thể tải chi tiết công việc');
+        }
     };
 
     const handleApplyFromDetail = () => {
@@ -239,7 +258,7 @@ const JobList = () => {
                             placeholder="Địa điểm"
                             value={location}
                             onChange={handleLocationChange}
-                            options={LOCATIONS}
+                            options={withCounts(LOCATIONS, facets.location)}
                             suffixIcon={<EnvironmentOutlined />}
                         />
                     </Col>
@@ -250,7 +269,7 @@ const JobList = () => {
                             placeholder="Ngành nghề"
                             value={category}
                             onChange={handleCategoryChange}
-                            options={CATEGORIES}
+                            options={withCounts(CATEGORIES, facets.category)}
                             suffixIcon={<FilterOutlined />}
                         />
                     </Col>
@@ -295,16 +314,7 @@ const JobList = () => {
                                     <p><DollarOutlined /> {item.salaryRange || 'Thỏa thuận'}</p>
                                     <p><EnvironmentOutlined /> {item.location || 'Remote/Office'}</p>
                                     <p><SearchOutlined /> {item.level || 'Không yêu cầu kinh nghiệm'}</p>
-                                    <p style={{
-                                        color: '#666',
-                                        overflow: 'hidden',
-                                        display: '-webkit-box',
-                                        WebkitLineClamp: 3,
-                                        WebkitBoxOrient: 'vertical',
-                                        marginTop: 10
-                                    }}>
-                                        {item.description}
-                                    </p>
+                                    {item.workingTime && <Tag color="blue">{item.workingTime}</Tag>}
                                 </div>
 
                                 <Button type="primary" block style={{ marginTop: 15 }} onClick={(e) => {
@@ -3,33 +3,40 @@ import {
     Table, Button, Modal, Form, Input,
     Select, InputNumber, Space, Tag,
     Popconfirm, message, Card, Typography,
-    Checkbox
+    Checkbox, Upload, Tooltip
 } from 'antd';
 import {
     PlusOutlined,
     EditOutlined,
     DeleteOutlined,
     ReloadOutlined,
-    MinusCircleOutlined
+    MinusCircleOutlined,
+    UploadOutlined,
+    BarChartOutlined
 } from '@ant-design/icons';
 import axiosClient from '../api/axiosClient';
 
 const { Title } = Typography;
 const { Option } = Select;
 const { TextArea } = Input;
+const PAGE_SIZE = 6;
 
 const ManageProblems = () => {
     const [problems, setProblems] = useState([]);
     const [loading, setLoading] = useState(false);
     const [isModalVisible, setIsModalVisible] = useState(false);
     const [editingProblem, setEditingProblem] = useState(null);
+    const [page, setPage] = useState(1);
+    const [total, setTotal] = useState(0);
     const [form] = Form.useForm();
 
-    const fetchProblems = async () => {
+    const fetchProblems = async (current = page) => {
         setLoading(true);
         try {
-            const res = await axiosClient.get('/problems');
-            setProblems(res.data);
+            // Danh sách chỉ chứa thông tin tóm tắt, chi tiết được tải khi mở form sửa
+            const res = await axiosClient.get('/problems', { params: { page: current - 1, size: PAGE_SIZE } });
+            setProblems(res.data.content);
+            setTotal(res.data.totalElements);
         } catch (error) {
             message.error('Lỗi tải danh sách bài tập');
         } finally {
@@ -38,13 +45,27 @@ const ManageProblems = () => {
     };
 
     useEffect(() => {
-        fetchProblems();
-    }, []);
+        fetchProblems(page);
+    }, [page]);
 
-    const handleOpenModal = (record = null) => {
+    const handleOpenModal = async (record = null) => {
         setEditingProblem(record);
         if (record) {
+            form.resetFields();
             form.setFieldsValue(record);
+            try {
+                const res = await axiosClient.get(`/problems/${record.slug}`);
+                form.setFieldsValue(res.data);
+            } catch (error) {
+                message.error('Không thể tải chi tiết bài tập');
+            }
+            // Nạp test case kèm id để khi lưu chỉ cập nhật những test case đã thay đổi
+            try {
+                const res = await axiosClient.get(`/problems/${record.id}/test-cases`);
+                form.setFieldsValue({ testCases: res.data });
+            } catch (error) {
+                message.error('Không thể tải danh sách test case');
+            }
         } else {
             form.resetFields();
             form.setFieldsValue({
@@ -76,6 +97,46 @@ const ManageProblems = () => {
         }
     };
 
+    // Nhập test case từ file ZIP gồm các cặp 1.in/1.out, 2.in/2.out... (thay thế toàn bộ test case hiện có)
+    const handleImportZip = async (record, file) => {
+        const formData = new FormData();
+        formData.append('file', file);
+        const hide = message.loading('Đang nhập test case...', 0);
+        try {
+            const res = await axiosClient.post(`/problems/${record.id}/test-cases/import`, formData, {
+                headers: { 'Content-Type': 'multipart/form-data' },
+                timeout: 0
+            });
+            message.success(`Đã nhập ${res.data.imported} test case`);
+        } catch (error) {
+            message.error(error.response?.data || 'Nhập test case thất bại');
+        } finally {
+            hide();
+        }
+    };
+
+    // Thống kê lấy từ bảng tổng hợp, có thể trễ vài giây so với kết quả chấm mới nhất
+    const handleShowStats = async (record) => {
+        try {
+            const res = await axiosClient.get(`/problems/${record.id}/stats`);
+            const stats = res.data;
+            Modal.info({
+                title: `Thống kê: ${record.title}`,
+                content: (
+                    <div>
+                        <p>Số lượt nộp: {stats.attempts}</p>
+                        <p>Tỉ lệ đúng: {(stats.acceptanceRate * 100).toFixed(1)}%</p>
+                        {Object.entries(stats.verdicts).map(([status, total]) => (
+                            <p key={status}><Tag>{status}</Tag> {total}</p>
+                        ))}
+                    </div>
+                )
+            });
+        } catch (error) {
+            message.error('Không thể tải thống kê');
+        }
+    };
+
     const handleDelete = async (id) => {
         try {
             await axiosClient.delete(`/problems/${id}`);
@@ -120,7 +181,7 @@ const ManageProblems = () => {
         {
             title: 'Hành động',
             key: 'action',
-            width: 150,
+            width: 200,
             render: (_, record) => (
                 <Space size="middle">
                     <Button
@@ -128,6 +189,21 @@ const ManageProblems = () => {
                         icon={<EditOutlined style={{ color: 'blue' }} />}
                         onClick={() => handleOpenModal(record)}
                     />
+                    <Tooltip title="Thống kê kết quả chấm">
+                        <Button type="text" icon={<BarChartOutlined />} onClick={() => handleShowStats(record)} />
+                    </Tooltip>
+                    <Upload
+                        accept=".zip"
+                        showUploadList={false}
+                        beforeUpload={(file) => {
+                            handleImportZip(record, file);
+                            return false;
+                        }}
+                    >
+                        <Tooltip title="Nhập test case từ file ZIP">
+                            <Button type="text" icon={<UploadOutlined />} />
+                        </Tooltip>
+                    </Upload>
                     <Popconfirm
                         title="Bạn có chắc chắn muốn xóa?"
                         onConfirm={() => handleDelete(record.id)}
@@ -147,7 +223,7 @@ const ManageProblems = () => {
                 <div style={{ display: 'flex', justifyContent: 'space-between', marginBottom: 20, flexWrap: 'wrap', gap: '10px' }}>
                     <Title level={3} style={{ margin: 0 }}>Quản lý ngân hàng đề</Title>
                     <Space>
-                        <Button icon={<ReloadOutlined />} onClick={fetchProblems}>Làm mới</Button>
+                        <Button icon={<ReloadOutlined />} onClick={() => fetchProblems()}>Làm mới</Button>
                         <Button type="primary" icon={<PlusOutlined />} onClick={() => handleOpenModal(null)}>
                             Thêm bài mới
                         </Button>
@@ -160,7 +236,7 @@ const ManageProblems = () => {
                     rowKey="id"
                     loading={loading}
                     bordered
-                    pagination={{ pageSize: 6 }}
+                    pagination={{ current: page, pageSize: PAGE_SIZE, total, onChange: setPage }}
                     scroll={{ x: true }}
                 />
             </Card>
@@ -234,18 +310,27 @@ const ManageProblems = () => {
                                 <>
                                     {fields.map(({ key, name, ...restField }) => (
                                         <Space key={key} style={{ display: 'flex', marginBottom: 8, flexWrap: 'wrap' }} align="baseline">
+                                            <Form.Item {...restField} name={[name, 'id']} hidden>
+                                                <Input />
+                                            </Form.Item>
                                             <Form.Item
                                                 {...restField}
                                                 name={[name, 'input']}
-                                                rules={[{ required: true, message: 'Nhập Input' }]}
+                                                rules={[({ getFieldValue }) => ({
+                                                    required: !getFieldValue(['testCases', name, 'id']),
+                                                    message: 'Nhập Input'
+                                                })]}
                                                 style={{ flex: 1, minWidth: '150px' }}
                                             >
-                                                <TextArea placeholder="Input" autoSize />
+                                                <TextArea placeholder="Input (để trống với test lớn: giữ nguyên)" autoSize />
                                             </Form.Item>
                                             <Form.Item
                                                 {...restField}
                                                 name={[name, 'output']}
-                                                rules={[{ required: true, message: 'Nhập Output' }]}
+                                                rules={[({ getFieldValue }) => ({
+                                                    required: !getFieldValue(['testCases', name, 'id']),
+                                                    message: 'Nhập Output'
+                                                })]}
                                                 style={{ flex: 1, minWidth: '150px' }}
                                             >
                                                 <TextArea placeholder="Expected Output" autoSize />
@@ -1,17 +1,91 @@
 import React, { useEffect, useState } from 'react';
-import { useParams, useNavigate } from 'react-router-dom';
+import { useParams, useNavigate, useSearchParams } from 'react-router-dom';
 import { Layout, Card, Typography, Button, Select, Tag, Spin, message, Alert, Divider } from 'antd';
 import { PlayCircleOutlined, ArrowLeftOutlined } from '@ant-design/icons';
 import Editor from '@monaco-editor/react';
+import SockJS from 'sockjs-client';
+import { Stomp } from '@stomp/stompjs';
 import axiosClient from '../api/axiosClient';
 
 const { Content } = Layout;
 const { Title, Paragraph, Text } = Typography;
 const { Option } = Select;
 
+const socketUrl = () => {
+    const backendHost = window.location.hostname;
+    return backendHost === 'localhost' ? `http://${backendHost}:8081/ws` : `https://${backendHost}/ws`;
+};
+
+const isPending = (submission) => submission.status === 'PENDING' || submission.status === 'RUNNING';
+
+// Hỏi lại trạng thái mỗi giây, chỉ dùng khi không kết nối được WebSocket
+const pollUntilJudged = async (submission) => {
+    while (isPending(submission)) {
+        await new Promise(resolve => setTimeout(resolve, 1000));
+        const statusRes = await axiosClient.get(`/submissions/${submission.id}`);
+        submission = statusRes.data;
+    }
+    return submission;
+};
+
+// Theo dõi tiến độ chấm qua /topic/submissions/{id}, trả về bài nộp khi có kết quả cuối cùng
+const followJudgeProgress = (submission, onProgress) => new Promise((resolve, reject) => {
+    const client = Stomp.over(new SockJS(socketUrl()));
+    client.debug = () => { };
+    let done = false;
+    let safetyPoll = null;
+
+    const finish = async () => {
+        if (done) return;
+        done = true;
+        clearInterval(safetyPoll);
+        try {
+            const statusRes = await axiosClient.get(`/submissions/${submission.id}`);
+            resolve(statusRes.data);
+        } catch (error) {
+            reject(error);
+        } finally {
+            client.disconnect();
+        }
+    };
+
+    client.connect(
+        {},
+        async () => {
+            client.subscribe(`/topic/submissions/${submission.id}`, (msg) => {
+                const event = JSON.parse(msg.body);
+                if (event.stage === 'VERDICT') {
+                    finish();
+                } else {
+                    onProgress(event);
+                }
+            });
+            // Kết quả có thể đã có trước khi kịp đăng ký, hoặc được chấm trên judge worker khác
+            // (broker của node đó không đẩy sự kiện về đây), nên vẫn hỏi lại thưa thớt
+            const checkStatus = async () => {
+                const statusRes = await axiosClient.get(`/submissions/${submission.id}`);
+                if (!isPending(statusRes.data)) {
+                    finish();
+                }
+            };
+            safetyPoll = setInterval(() => checkStatus().catch(() => { }), 5000);
+            await checkStatus();
+        },
+        () => {
+            if (!done) {
+                done = true;
+                pollUntilJudged(submission).then(resolve, reject);
+            }
+        }
+    );
+});
+
 const ProblemDetail = () => {
     const { slug } = useParams();
     const navigate = useNavigate();
+    // Có khi mở bài từ một buổi đánh giá, bài nộp được ưu tiên chấm trước
+    const [searchParams] = useSearchParams();
+    const assessmentSessionId = searchParams.get('session');
 
     const [problem, setProblem] = useState(null);
     const [loading, setLoading] = useState(true);
@@ -25,6 +99,20 @@ const ProblemDetail = () => {
 
     const [submitting, setSubmitting] = useState(false);
     const [result, setResult] = useState(null);
+    const [progress, setProgress] = useState(null);
+    const [running, setRunning] = useState(false);
+    const [sampleResult, setSampleResult] = useState(null);
+    const [leaderboard, setLeaderboard] = useState([]);
+
+    // Bảng xếp hạng: thời gian chạy tốt nhất, bằng nhau thì ai nộp đúng sớm hơn xếp trên
+    const fetchLeaderboard = async (problemId) => {
+        try {
+            const res = await axiosClient.get(`/problems/${problemId}/leaderboard`, { params: { limit: 10 } });
+            setLeaderboard(res.data);
+        } catch (error) {
+            console.error('Không thể tải bảng xếp hạng:', error);
+        }
+    };
 
 
     useEffect(() => {
@@ -39,6 +127,7 @@ const ProblemDetail = () => {
                 setProblem(problemRes.data);
 
                 setCode(problemRes.data.templateCode || '// Viết code của bạn ở đây...');
+                fetchLeaderboard(problemRes.data.id);
             } catch (error) {
                 message.error('Không thể tải dữ liệu bài tập!');
                 console.error(error);
@@ -49,29 +138,69 @@ const ProblemDetail = () => {
         fetchData();
     }, [slug]);
 
+    // Chạy thử trên các test case công khai, không tính là một lần nộp bài
+    const handleRunSamples = async () => {
+        if (!currentUser || !problem) return;
+        setRunning(true);
+        setSampleResult(null);
+        setResult(null);
+        try {
+            const response = await axiosClient.post('/submissions/samples', {
+                userId: currentUser.id,
+                problemId: problem.id,
+                sourceCode: code,
+                language: language
+            });
+            setSampleResult(response.data);
+        } catch (error) {
+            if (error.response?.status === 429) {
+                message.warning('Máy chạy thử đang bận, vui lòng thử lại sau giây lát.');
+            } else {
+                message.error('Có lỗi khi chạy thử!');
+            }
+            console.error(error);
+        } finally {
+            setRunning(false);
+        }
+    };
+
     const handleSubmit = async () => {
         if (!currentUser || !problem) return;
         setSubmitting(true);
         setResult(null);
+        setSampleResult(null);
+        setProgress(null);
 
         try {
             const payload = {
                 userId: currentUser.id,
                 problemId: problem.id,
                 sourceCode: code,
-                language: language
+                language: language,
+                assessmentSessionId: assessmentSessionId
             };
             const response = await axiosClient.post('/submissions', payload);
-            setResult(response.data);
 
-            if (response.data.status === 'ACCEPTED') {
+            // Bài nộp được chấm bất đồng bộ, tiến độ được đẩy về qua WebSocket
+            let submission = response.data;
+            if (isPending(submission)) {
+                submission = await followJudgeProgress(submission, setProgress);
+            }
+            setResult(submission);
+
+            if (submission.status === 'ACCEPTED') {
                 message.success('Chúc mừng! Bạn đã vượt qua tất cả Test Case.');
+                fetchLeaderboard(problem.id);
             } else {
                 message.error('Bài làm chưa chính xác hoặc lỗi biên dịch.');
             }
 
         } catch (error) {
-            message.error('Có lỗi khi chấm bài!');
+            if (error.response?.status === 429) {
+                message.warning('Hệ thống chấm bài đang quá tải, vui lòng thử lại sau ít phút.');
+            } else {
+                message.error('Có lỗi khi chấm bài!');
+            }
             console.error(error);
         } finally {
             setSubmitting(false);
@@ -102,6 +231,20 @@ const ProblemDetail = () => {
                     <li>Thời gian: {problem.cpuTimeLimit}s</li>
                     <li>Bộ nhớ: {problem.memoryLimitMb}MB</li>
                 </ul>
+
+                {leaderboard.length > 0 && (
+                    <>
+                        <Divider />
+                        <Text strong>Bảng xếp hạng:</Text>
+                        <ol>
+                            {leaderboard.map(entry => (
+                                <li key={entry.userId}>
+                                    {entry.userName} - {entry.runtimeMs != null ? `${entry.runtimeMs} ms` : 'N/A'}
+                                </li>
+                            ))}
+                        </ol>
+                    </>
+                )}
             </div>
 
             <div style={{ width: '60%', display: 'flex', flexDirection: 'column' }}>
@@ -109,16 +252,25 @@ const ProblemDetail = () => {
                 <div style={{ padding: '10px 20px', background: '#f5f5f5', display: 'flex', justifyContent: 'space-between', alignItems: 'center' }}>
                     <Select defaultValue="JAVA" style={{ width: 120 }} onChange={setLanguage}>
                         <Option value="JAVA">Java</Option>
+                        <Option value="PYTHON">Python 3</Option>
+                        <Option value="CPP">C++17</Option>
                     </Select>
 
-                    <Button
-                        type="primary"
-                        icon={<PlayCircleOutlined />}
-                        onClick={handleSubmit}
-                        loading={submitting}
-                    >
-                        Nộp bài (Run)
-                    </Button>
+                    <div style={{ display: 'flex', gap: 8 }}>
+                        {/* Chạy thử chỉ hỗ trợ Java, các ngôn ngữ khác chấm qua nộp bài */}
+                        <Button onClick={handleRunSamples} loading={running} disabled={submitting || language !== 'JAVA'}>
+                            Chạy thử
+                        </Button>
+                        <Button
+                            type="primary"
+                            icon={<PlayCircleOutlined />}
+                            onClick={handleSubmit}
+                            loading={submitting}
+                            disabled={running}
+                        >
+                            Nộp bài (Run)
+                        </Button>
+                    </div>
                 </div>
 
                 <div style={{ flex: 1 }}>
@@ -136,9 +288,43 @@ const ProblemDetail = () => {
                 <div style={{ height: '30%', background: '#1e1e1e', color: '#fff', padding: 20, overflowY: 'auto', borderTop: '1px solid #333' }}>
                     <Text strong style={{ color: '#fff' }}>KẾT QUẢ CHẤM:</Text>
 
-                    {!result && !submitting && <p style={{ color: '#888' }}>Nhấn "Nộp bài" để chạy thử code của bạn.</p>}
+                    {!result && !sampleResult && !submitting && !running && (
+                        <p style={{ color: '#888' }}>Nhấn "Chạy thử" để kiểm tra với test case mẫu, hoặc "Nộp bài" để chấm chính thức.</p>
+                    )}
+
+                    {running && <p>Đang chạy test case mẫu...</p>}
+
+                    {sampleResult && (
+                        <div style={{ marginTop: 10 }}>
+                            <Tag color={sampleResult.status === 'ACCEPTED' ? 'green' : 'red'} style={{ fontSize: 14, padding: '5px 10px' }}>
+                                {sampleResult.status}
+                            </Tag>
+                            {sampleResult.compileOutput && (
+                                <pre style={{ whiteSpace: 'pre-wrap', color: '#ff7875' }}>{sampleResult.compileOutput}</pre>
+                            )}
+                            {sampleResult.tests.map((test, index) => (
+                                <div key={test.testCaseId} style={{ marginTop: 10 }}>
+                                    <Text style={{ color: '#fff' }}>
+                                        Test mẫu {index + 1}: <Tag color={test.status === 'ACCEPTED' ? 'green' : 'red'}>{test.status}</Tag>
+                                        {test.runtimeMs} ms
+                                    </Text>
+                                    {test.status !== 'ACCEPTED' && test.status !== 'SKIPPED' && (
+                                        <pre style={{ whiteSpace: 'pre-wrap', color: '#ccc' }}>
+                                            {`Input:\n${test.input}\nExpected:\n${test.expectedOutput}\nOutput:\n${test.actualOutput}${test.stderr ? `\nStderr:\n${test.stderr}` : ''}`}
+                                        </pre>
+                                    )}
+                                </div>
+                            ))}
+                        </div>
+                    )}
 
-                    {submitting && <p>Đang chạy Docker container...</p>}
+                    {submitting && (
+                        <p>
+                            {progress?.stage === 'COMPILING' && 'Đang biên dịch...'}
+                            {progress?.stage === 'TEST_PASSED' && `Đã qua ${progress.passedTests}/${progress.totalTests} test case...`}
+                            {(!progress || progress.stage === 'QUEUED') && 'Đang chờ chấm...'}
+                        </p>
+                    )}
 
                     {result && (
                         <div style={{ marginTop: 10 }}>
@@ -148,13 +334,14 @@ const ProblemDetail = () => {
 
                             <p style={{ marginTop: 10 }}>
                                 Test cases: <b>{result.passCount}/{result.totalTestCases}</b><br/>
-                                Thời gian chạy: {result.runtimeMs ? `${result.runtimeMs} ms` : 'N/A'}
+                                Thời gian chạy: {result.runtimeMs ? `${result.runtimeMs} ms` : 'N/A'}<br/>
+                                Bộ nhớ: {result.memoryUsageKb ? `${Math.round(result.memoryUsageKb / 1024)} MB` : 'N/A'}
                             </p>
 
-                            {result.status.includes('COMPILE_ERROR') && (
+                            {result.status === 'COMPILE_ERROR' && (
                                 <Alert
                                     message="Lỗi biên dịch"
-                                    description={<pre style={{ whiteSpace: 'pre-wrap' }}>{result.status}</pre>}
+                                    description={<pre style={{ whiteSpace: 'pre-wrap' }}>{result.compileOutput}</pre>}
                                     type="error"
                                     showIcon
                                 />
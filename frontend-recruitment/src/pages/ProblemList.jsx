@@ -1,21 +1,31 @@
 import React, { useEffect, useState } from 'react';
-import { Table, Tag, Button, Space, Typography } from 'antd';
+import { Table, Tag, Button, Space, Typography, Input, Select } from 'antd';
 import { PlayCircleOutlined } from '@ant-design/icons';
 import axiosClient from '../api/axiosClient';
 import { useNavigate } from 'react-router-dom';
 
 const { Title } = Typography;
+const PAGE_SIZE = 20;
 
 const ProblemList = () => {
     const [problems, setProblems] = useState([]);
     const [loading, setLoading] = useState(true);
+    const [page, setPage] = useState(1);
+    const [total, setTotal] = useState(0);
+    const [difficulty, setDifficulty] = useState();
+    const [keyword, setKeyword] = useState('');
     const navigate = useNavigate();
 
     useEffect(() => {
         const fetchProblems = async () => {
+            setLoading(true);
             try {
-                const response = await axiosClient.get('/problems');
-                setProblems(response.data);
+                // Server trả về từng trang (chỉ thông tin tóm tắt), trình duyệt tự xác thực lại bằng ETag
+                const response = await axiosClient.get('/problems', {
+                    params: { page: page - 1, size: PAGE_SIZE, difficulty, keyword: keyword || undefined }
+                });
+                setProblems(response.data.content);
+                setTotal(response.data.totalElements);
             } catch (error) {
                 console.error("Lỗi lấy danh sách bài tập:", error);
             } finally {
@@ -23,7 +33,7 @@ const ProblemList = () => {
             }
         };
         fetchProblems();
-    }, []);
+    }, [page, difficulty, keyword]);
 
     const columns = [
         {
@@ -61,11 +71,32 @@ const ProblemList = () => {
     return (
         <div>
             <Title level={2}>Danh sách bài tập Coding</Title>
+            <Space style={{ marginBottom: 16 }}>
+                <Input.Search
+                    placeholder="Tìm theo tên bài"
+                    allowClear
+                    onSearch={(value) => { setKeyword(value.trim()); setPage(1); }}
+                    style={{ width: 280 }}
+                />
+                <Select
+                    placeholder="Độ khó"
+                    allowClear
+                    value={difficulty}
+                    onChange={(value) => { setDifficulty(value); setPage(1); }}
+                    options={[
+                        { value: 'EASY', label: 'EASY' },
+                        { value: 'MEDIUM', label: 'MEDIUM' },
+                        { value: 'HARD', label: 'HARD' }
+                    ]}
+                    style={{ width: 140 }}
+                />
+            </Space>
             <Table
                 columns={columns}
                 dataSource={problems}
                 rowKey="id"
                 loading={loading}
+                pagination={{ current: page, pageSize: PAGE_SIZE, total, onChange: setPage, showSizeChanger: false }}
             />
         </div>
     );
@@ -0,0 +1,81 @@
+package com.datn.onlinerecruitmentsystem.config;
+
+import com.datn.onlinerecruitmentsystem.service.judge.JudgeTaskQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.BlockingQueue;
+
+@Configuration
+@EnableScheduling
+public class JudgeConfig {
+
+    @Value("${judge.executor.pool-size:4}")
+    private int poolSize;
+
+    @Value("${judge.executor.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${judge.queue.assessment-reserved:20}")
+    private int assessmentReserved;
+
+    @Value("${judge.tests.max-concurrent:8}")
+    private int maxConcurrentTests;
+
+    @Value("${judge.rejudge.queue-capacity:20}")
+    private int rejudgeQueueCapacity;
+
+    /**
+     * Bounded pool that runs submissions off the servlet threads.
+     * When the queue is full, execute() throws TaskRejectedException so the API can answer 429.
+     * Queued submissions are taken by priority, see JudgeTaskQueue.
+     */
+    @Bean(name = "judgeExecutor")
+    public ThreadPoolTaskExecutor judgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+            @Override
+            protected BlockingQueue<Runnable> createQueue(int queueCapacity) {
+                return new JudgeTaskQueue(queueCapacity, assessmentReserved);
+            }
+        };
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("judge-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Shared pool for individual test runs. Its size is the global cap on concurrent runs,
+     * so one large submission cannot take every core from the others.
+     */
+    @Bean(name = "judgeTestExecutor")
+    public ThreadPoolTaskExecutor judgeTestExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentTests);
+        executor.setMaxPoolSize(maxConcurrentTests);
+        executor.setThreadNamePrefix("judge-test-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Single thread for rejudge jobs, they run one after another.
+     */
+    @Bean(name = "rejudgeExecutor")
+    public ThreadPoolTaskExecutor rejudgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(rejudgeQueueCapacity);
+        executor.setThreadNamePrefix("rejudge-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -2,6 +2,7 @@ package com.datn.onlinerecruitmentsystem.controller;
 
 import com.datn.onlinerecruitmentsystem.dto.request.CreateUserRequest;
 import com.datn.onlinerecruitmentsystem.entity.User;
+import com.datn.onlinerecruitmentsystem.service.JobCache;
 import com.datn.onlinerecruitmentsystem.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -21,6 +22,7 @@ import java.util.List;
 public class AdminController {
 
     private final UserService userService;
+    private final JobCache jobCache;
 
     @GetMapping("/users")
     @Operation(summary = "Lấy danh sách tất cả người dùng")
@@ -42,4 +44,11 @@ public class AdminController {
         userService.deleteUser(id);
         return ResponseEntity.ok("Xóa người dùng thành công");
     }
+
+    @GetMapping("/job-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Thống kê cache việc làm (tỉ lệ hit, miss, eviction)")
+    public ResponseEntity<JobCache.Stats> getJobCacheStats() {
+        return ResponseEntity.ok(jobCache.getStats());
+    }
 }
\ No newline at end of file
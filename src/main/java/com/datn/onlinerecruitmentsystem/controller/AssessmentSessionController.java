@@ -0,0 +1,70 @@
+package com.datn.onlinerecruitmentsystem.controller;
+
+import com.datn.onlinerecruitmentsystem.dto.AssessmentSessionDTO;
+import com.datn.onlinerecruitmentsystem.entity.AssessmentSession;
+import com.datn.onlinerecruitmentsystem.service.AssessmentSessionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/assessment-sessions")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class AssessmentSessionController {
+
+    private final AssessmentSessionService assessmentSessionService;
+
+    @GetMapping
+    public ResponseEntity<List<AssessmentSession>> getSessions(@RequestParam(required = false) Long jobId) {
+        return ResponseEntity.ok(jobId != null
+                ? assessmentSessionService.getSessionsByJob(jobId)
+                : assessmentSessionService.getUpcomingSessions());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getSession(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(assessmentSessionService.getSession(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + e.getMessage());
+        }
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<?> createSession(@RequestBody AssessmentSessionDTO dto) {
+        try {
+            return ResponseEntity.ok(assessmentSessionService.createSession(dto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<?> updateSession(@PathVariable Long id, @RequestBody AssessmentSessionDTO dto) {
+        try {
+            return ResponseEntity.ok(assessmentSessionService.updateSession(id, dto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<?> deleteSession(@PathVariable Long id) {
+        try {
+            assessmentSessionService.deleteSession(id);
+            return ResponseEntity.ok("Deleted assessment session successfully");
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + e.getMessage());
+        }
+    }
+}
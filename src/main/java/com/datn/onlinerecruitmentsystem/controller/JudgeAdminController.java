@@ -0,0 +1,70 @@
+package com.datn.onlinerecruitmentsystem.controller;
+
+import com.datn.onlinerecruitmentsystem.service.RejudgeService;
+import com.datn.onlinerecruitmentsystem.service.judge.TestSetCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/judge")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Judge Admin", description = "API quản trị hệ thống chấm bài")
+public class JudgeAdminController {
+
+    private final TestSetCache testSetCache;
+    private final RejudgeService rejudgeService;
+
+    @GetMapping("/test-set-cache")
+    @Operation(summary = "Thống kê cache test case (hit, miss, eviction)")
+    public ResponseEntity<TestSetCache.Stats> getTestSetCacheStats() {
+        return ResponseEntity.ok(testSetCache.getStats());
+    }
+
+    @PostMapping("/problems/{problemId}/rejudge")
+    @Operation(summary = "Chấm lại toàn bộ bài nộp của một bài tập")
+    public ResponseEntity<?> rejudgeProblem(@PathVariable Long problemId) {
+        try {
+            return ResponseEntity.accepted().body(rejudgeService.startRejudge(problemId));
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("Error: too many rejudge jobs queued");
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/rejudge")
+    @Operation(summary = "Danh sách các lượt chấm lại")
+    public ResponseEntity<List<RejudgeService.RejudgeJob>> getRejudgeJobs() {
+        return ResponseEntity.ok(rejudgeService.getJobs());
+    }
+
+    @GetMapping("/rejudge/{jobId}")
+    @Operation(summary = "Tiến độ và thống kê thay đổi kết quả của một lượt chấm lại")
+    public ResponseEntity<?> getRejudgeJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(rejudgeService.getJob(jobId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/rejudge/{jobId}")
+    @Operation(summary = "Dừng một lượt chấm lại")
+    public ResponseEntity<?> cancelRejudgeJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(rejudgeService.cancel(jobId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + e.getMessage());
+        }
+    }
+}
@@ -1,14 +1,35 @@
 package com.datn.onlinerecruitmentsystem.controller;
 
 import com.datn.onlinerecruitmentsystem.dto.ProblemDTO;
+import com.datn.onlinerecruitmentsystem.dto.TestCaseDTO;
+import com.datn.onlinerecruitmentsystem.dto.response.LeaderboardEntryResponse;
+import com.datn.onlinerecruitmentsystem.dto.response.PageResponse;
+import com.datn.onlinerecruitmentsystem.dto.response.ProblemStatsResponse;
 import com.datn.onlinerecruitmentsystem.entity.Problem;
+import com.datn.onlinerecruitmentsystem.enums.Difficulty;
+import com.datn.onlinerecruitmentsystem.repository.ProblemRepository;
+import com.datn.onlinerecruitmentsystem.service.LeaderboardService;
+import com.datn.onlinerecruitmentsystem.service.ProblemStatsService;
 import com.datn.onlinerecruitmentsystem.service.ProblemService;
+import com.datn.onlinerecruitmentsystem.service.TestCaseImportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
 
 @RestController
 @RequestMapping("/api/v1/problems")
@@ -17,10 +38,45 @@ import java.util.List;
 public class ProblemController {
 
     private final ProblemService problemService;
+    private final TestCaseImportService testCaseImportService;
+    private final LeaderboardService leaderboardService;
+    private final ProblemStatsService problemStatsService;
 
+    /**
+     * Catalog page of problem summaries. The ETag is derived from the catalog version and the query,
+     * so a client revalidating an unchanged page gets a 304 before any query is run.
+     */
     @GetMapping
-    public ResponseEntity<List<Problem>> getAllProblems() {
-        return ResponseEntity.ok(problemService.getAllProblems());
+    public ResponseEntity<PageResponse<ProblemRepository.ProblemSummary>> getProblems(
+            @RequestParam(required = false) Difficulty difficulty,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        int pageSize = Math.min(Math.max(size, 1), 100);
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), pageSize, Sort.by("id"));
+        String etag = catalogEtag(problemService.getCatalogVersion(), difficulty, keyword, pageable);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(problemService.getCatalog(difficulty, keyword, pageable));
+    }
+
+    /**
+     * Built from strings only, so every API node sends the same tag for the same query and catalog version.
+     */
+    private static String catalogEtag(long catalogVersion, Difficulty difficulty, String keyword, PageRequest pageable) {
+        // The keyword goes last so that a '|' in it cannot shift the other fields
+        String query = (difficulty != null ? difficulty.name() : "")
+                + "|" + pageable.getPageNumber() + "|" + pageable.getPageSize()
+                + "|" + (keyword != null ? keyword.trim().toLowerCase(Locale.ROOT) : "");
+        CRC32 crc = new CRC32();
+        crc.update(query.getBytes(StandardCharsets.UTF_8));
+        return "\"" + catalogVersion + "-" + Long.toHexString(crc.getValue()) + "\"";
     }
 
     @GetMapping("/{slug}")
@@ -28,6 +84,56 @@ public class ProblemController {
         return ResponseEntity.ok(problemService.getProblemBySlug(slug));
     }
 
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<List<LeaderboardEntryResponse>> getLeaderboard(@PathVariable Long id,
+                                                                         @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.getTop(id, limit));
+    }
+
+    @GetMapping("/{id}/leaderboard/users/{userId}")
+    public ResponseEntity<?> getLeaderboardRank(@PathVariable Long id, @PathVariable Long userId) {
+        try {
+            return ResponseEntity.ok(leaderboardService.getRank(id, userId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Attempts, acceptance rate and verdict breakdown, as of the last flush of the verdict counters.
+     */
+    @GetMapping("/{id}/stats")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<ProblemStatsResponse> getStats(@PathVariable Long id) {
+        return ResponseEntity.ok(problemStatsService.getStats(id));
+    }
+
+    @GetMapping("/{id}/test-cases")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<List<TestCaseDTO>> getTestCases(@PathVariable Long id) {
+        return ResponseEntity.ok(problemService.getTestCases(id));
+    }
+
+    /**
+     * Imports test cases from a ZIP of N.in / N.out pairs, streamed into the test data store.
+     */
+    @PostMapping(value = "/{id}/test-cases/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<?> importTestCases(@PathVariable Long id,
+                                             @RequestParam("file") MultipartFile file,
+                                             @RequestParam(defaultValue = "true") boolean replace,
+                                             @RequestParam(defaultValue = "0") int visibleCount) {
+        try (InputStream zip = file.getInputStream()) {
+            return ResponseEntity.ok(testCaseImportService.importZip(id, zip, replace, visibleCount));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body("Error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + e.getMessage());
+        }
+    }
+
     @PostMapping
     @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
     public ResponseEntity<Problem> createProblem(@RequestBody ProblemDTO problemDTO) {
@@ -1,9 +1,10 @@
 package com.datn.onlinerecruitmentsystem.controller;
 
 import com.datn.onlinerecruitmentsystem.dto.request.CreateJobRequest;
-import com.datn.onlinerecruitmentsystem.dto.response.PageResponse;
+import com.datn.onlinerecruitmentsystem.dto.response.FacetedResponse;
 import com.datn.onlinerecruitmentsystem.entity.Application;
 import com.datn.onlinerecruitmentsystem.entity.Job;
+import com.datn.onlinerecruitmentsystem.repository.JobRepository;
 import com.datn.onlinerecruitmentsystem.service.ApplicationService;
 import com.datn.onlinerecruitmentsystem.service.JobService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -38,30 +39,60 @@ public class RecruitmentController {
 
     @GetMapping("/jobs")
     @Operation(summary = "Lấy danh sách việc làm đang tuyển", description = "Trả về danh sách tất cả việc làm có trạng thái OPEN")
-    public ResponseEntity<List<Job>> getAllOpenJobs() {
+    public ResponseEntity<List<JobRepository.JobSummary>> getAllOpenJobs() {
         return ResponseEntity.ok(jobService.getAllOpenJobs());
     }
 
     @GetMapping("/jobs/search")
     @Operation(summary = "Tìm kiếm việc làm", description = "Tìm kiếm và lọc việc làm với phân trang")
     @ApiResponse(responseCode = "200", description = "Danh sách việc làm phù hợp")
-    public ResponseEntity<PageResponse<Job>> searchJobs(
+    public ResponseEntity<?> searchJobs(
             @Parameter(description = "Từ khóa tìm kiếm") @RequestParam(required = false) String keyword,
             @Parameter(description = "Địa điểm") @RequestParam(required = false) String location,
             @Parameter(description = "Ngành nghề") @RequestParam(required = false) String category,
             @Parameter(description = "Số trang (bắt đầu từ 0)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Số items mỗi trang") @RequestParam(defaultValue = "10") int size) {
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return ResponseEntity.ok(jobService.searchJobs(keyword, location, category, pageable));
+            @Parameter(description = "Số items mỗi trang") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Phân trang theo con trỏ: để trống cho trang đầu, sau đó truyền nextCursor của trang trước")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Có đếm tổng số kết quả không (chỉ áp dụng khi dùng cursor)")
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @Parameter(description = "Trả kèm số việc làm theo địa điểm, ngành nghề, cấp bậc, hình thức làm việc")
+            @RequestParam(defaultValue = "false") boolean withFacets) {
+
+        Object result;
+        if (cursor != null) {
+            try {
+                result = jobService.searchJobsByCursor(keyword, location, category, cursor, size, withTotal);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+            }
+        } else {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+            result = jobService.searchJobs(keyword, location, category, pageable);
+        }
+        if (withFacets) {
+            return ResponseEntity.ok(new FacetedResponse<>(result, jobService.getFacets(keyword, location, category)));
+        }
+        return ResponseEntity.ok(result);
     }
 
     @GetMapping("/jobs/paginated")
     @Operation(summary = "Lấy danh sách việc làm có phân trang")
-    public ResponseEntity<PageResponse<Job>> getJobsPaginated(
+    public ResponseEntity<?> getJobsPaginated(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Phân trang theo con trỏ: để trống cho trang đầu, sau đó truyền nextCursor của trang trước")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Có đếm tổng số kết quả không (chỉ áp dụng khi dùng cursor)")
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(jobService.searchJobsByCursor(null, null, null, cursor, size, withTotal));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+            }
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         return ResponseEntity.ok(jobService.getOpenJobsPaginated(pageable));
     }
@@ -75,8 +106,8 @@ public class RecruitmentController {
 
     @GetMapping("/jobs/{id}")
     @Operation(summary = "Lấy chi tiết một việc làm")
-    public ResponseEntity<Job> getJobById(@PathVariable Long id) {
-        return ResponseEntity.ok(jobService.getJobById(id));
+    public ResponseEntity<JobRepository.JobDetail> getJobById(@PathVariable Long id) {
+        return ResponseEntity.ok(jobService.getJobDetail(id));
     }
 
     @PostMapping("/jobs")
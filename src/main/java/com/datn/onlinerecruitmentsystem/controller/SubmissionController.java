@@ -2,8 +2,12 @@ package com.datn.onlinerecruitmentsystem.controller;
 
 import com.datn.onlinerecruitmentsystem.dto.SubmissionDTO;
 import com.datn.onlinerecruitmentsystem.entity.Submission;
+import com.datn.onlinerecruitmentsystem.enums.SubmissionStatus;
+import com.datn.onlinerecruitmentsystem.exception.JudgeQueueFullException;
+import com.datn.onlinerecruitmentsystem.service.SampleRunService;
 import com.datn.onlinerecruitmentsystem.service.SubmissionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,14 +18,52 @@ import org.springframework.web.bind.annotation.*;
 public class SubmissionController {
 
     private final SubmissionService submissionService;
+    private final SampleRunService sampleRunService;
 
     @PostMapping
     public ResponseEntity<?> submitCode(@RequestBody SubmissionDTO dto) {
         try {
             Submission result = submissionService.submitCode(dto);
-            return ResponseEntity.ok(result);
+            // A verdict cache hit is already final, anything else is still queued for the judge
+            if (result.getStatus() != SubmissionStatus.PENDING) {
+                return ResponseEntity.ok(result);
+            }
+            return ResponseEntity.accepted().body(result);
+        } catch (JudgeQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", "5")
+                    .body("Error: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Error: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs the code on the problem's visible test cases only; the result is not a submission.
+     */
+    @PostMapping("/samples")
+    public ResponseEntity<?> runSamples(@RequestBody SubmissionDTO dto) {
+        try {
+            return ResponseEntity.ok(sampleRunService.runSamples(dto));
+        } catch (JudgeQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", "2")
+                    .body("Error: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getSubmission(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(submissionService.getSubmission(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.datn.onlinerecruitmentsystem.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class AssessmentSessionDTO {
+    private String title;
+    private Long jobId;
+    private List<Long> problemIds;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,18 @@
+package com.datn.onlinerecruitmentsystem.dto;
+
+import lombok.Data;
+
+/**
+ * Event published on {@code /topic/submissions/{submissionId}} while a submission is judged.
+ * Stage is QUEUED, COMPILING, TEST_PASSED or VERDICT; the remaining fields are set when relevant.
+ */
+@Data
+public class JudgeProgressMessage {
+    private Long submissionId;
+    private String stage;
+    private Integer passedTests;
+    private Integer totalTests;
+    private String status;
+    private Integer runtimeMs;
+    private Double memoryUsageKb;
+}
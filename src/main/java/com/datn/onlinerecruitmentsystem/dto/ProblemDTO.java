@@ -12,6 +12,8 @@ public class ProblemDTO {
     private Double cpuTimeLimit;
     private Integer memoryLimitMb;
     private String templateCode;
+    private String checkerType;
+    private Double checkerTolerance;
 
     private List<TestCaseDTO> testCases;
 }
\ No newline at end of file
@@ -8,4 +8,6 @@ public class SubmissionDTO {
     private Long problemId;
     private String sourceCode;
     private String language;
+    // Only for submissions made during a timed assessment
+    private Long assessmentSessionId;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.datn.onlinerecruitmentsystem.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated listing. Pass {@code nextCursor} back as {@code cursor} for the next page.
+ */
+@Data
+@Builder
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    /** Null on the last page. */
+    private String nextCursor;
+    private boolean hasNext;
+    /** Only counted when asked for, null otherwise. */
+    private Long totalElements;
+}
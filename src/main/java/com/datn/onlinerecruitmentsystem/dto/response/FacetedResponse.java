@@ -0,0 +1,20 @@
+package com.datn.onlinerecruitmentsystem.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * A page of results with facet counts next to it. The page's own fields stay at the top level,
+ * so a client that ignores {@code facets} reads it as the plain page.
+ */
+@Data
+@AllArgsConstructor
+public class FacetedResponse<T> {
+    @JsonUnwrapped
+    private T page;
+    /** Field, then value, then number of matching jobs. */
+    private Map<String, Map<String, Integer>> facets;
+}
@@ -0,0 +1,15 @@
+package com.datn.onlinerecruitmentsystem.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class LeaderboardEntryResponse {
+    private int rank;
+    private Long userId;
+    private String userName;
+    private Long submissionId;
+    private Integer runtimeMs;
+    private LocalDateTime acceptedAt;
+}
@@ -0,0 +1,16 @@
+package com.datn.onlinerecruitmentsystem.dto.response;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class ProblemStatsResponse {
+    private Long problemId;
+    /** Judged submissions, system errors excluded. */
+    private long attempts;
+    private long accepted;
+    private double acceptanceRate;
+    /** Submissions per verdict. */
+    private Map<String, Long> verdicts;
+}
@@ -0,0 +1,28 @@
+package com.datn.onlinerecruitmentsystem.dto.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of running a candidate's code on the visible (non-hidden) test cases of a problem.
+ * Never stored, it is not an official verdict.
+ */
+@Data
+public class SampleRunResponse {
+    private String status;
+    private String compileOutput;
+    private List<SampleTestResult> tests = new ArrayList<>();
+
+    @Data
+    public static class SampleTestResult {
+        private Long testCaseId;
+        private String status;
+        private String input;
+        private String expectedOutput;
+        private String actualOutput;
+        private String stderr;
+        private Long runtimeMs;
+    }
+}
@@ -0,0 +1,12 @@
+package com.datn.onlinerecruitmentsystem.dto.response;
+
+import lombok.Data;
+
+@Data
+public class TestCaseImportResponse {
+    private Long problemId;
+    private int imported;
+    private int deleted;
+    private long totalBytes;
+    private Long testSetVersion;
+}
@@ -0,0 +1,41 @@
+package com.datn.onlinerecruitmentsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A timed coding assessment for the candidates of a job: the problems they solve and when.
+ */
+@Entity
+@Table(name = "assessment_sessions", indexes = {
+        @Index(name = "idx_assessment_sessions_start_time", columnList = "start_time")
+})
+@Data
+public class AssessmentSession {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String title;
+
+    @ManyToOne
+    @JoinColumn(name = "job_id", nullable = false)
+    private Job job;
+
+    @ManyToMany
+    @JoinTable(name = "assessment_session_problems",
+            joinColumns = @JoinColumn(name = "session_id"),
+            inverseJoinColumns = @JoinColumn(name = "problem_id"))
+    private List<Problem> problems = new ArrayList<>();
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
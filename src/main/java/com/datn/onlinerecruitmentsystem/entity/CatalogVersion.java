@@ -0,0 +1,18 @@
+package com.datn.onlinerecruitmentsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * The single row holding the problem catalog version shared by all API nodes, see ProblemService.
+ */
+@Entity
+@Table(name = "catalog_version")
+@Data
+public class CatalogVersion {
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long version;
+}
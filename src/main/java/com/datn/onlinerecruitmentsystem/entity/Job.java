@@ -6,7 +6,10 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+        // Seek pagination on (createdAt, id), see JobService.searchJobsByCursor
+        @Index(name = "idx_jobs_status_created_at_id", columnList = "status, createdAt, id")
+})
 @Data
 public class Job {
     @Id
@@ -0,0 +1,28 @@
+package com.datn.onlinerecruitmentsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One job change, logged so the other API nodes can drop their cached copies, see JobInvalidationService.
+ */
+@Entity
+@Table(name = "job_cache_invalidations", indexes =
+        @Index(name = "idx_job_cache_invalidations_created_at", columnList = "createdAt"))
+@Data
+public class JobInvalidation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    // The node that made the change and has already applied it
+    @Column(name = "node_id", length = 64, nullable = false)
+    private String nodeId;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -1,5 +1,6 @@
 package com.datn.onlinerecruitmentsystem.entity;
 
+import com.datn.onlinerecruitmentsystem.enums.CheckerType;
 import com.datn.onlinerecruitmentsystem.enums.Difficulty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -37,6 +38,17 @@ public class Problem {
     @Column(name = "memory_limit_mb")
     private Integer memoryLimitMb;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "checker_type", columnDefinition = "VARCHAR(255)")
+    private CheckerType checkerType;
+
+    @Column(name = "checker_tolerance")
+    private Double checkerTolerance;
+
+    // Bumped whenever the test cases, limits or checker change, so cached test sets and verdicts of older versions are never used
+    @Column(name = "test_set_version")
+    private Long testSetVersion = 0L;
+
     @Column(name = "template_code", columnDefinition = "TEXT")
     private String templateCode;
 
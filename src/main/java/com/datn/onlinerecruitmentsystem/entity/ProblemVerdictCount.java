@@ -0,0 +1,28 @@
+package com.datn.onlinerecruitmentsystem.entity;
+
+import com.datn.onlinerecruitmentsystem.enums.SubmissionStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Rollup of how many submissions of a problem got each verdict, see ProblemStatsService.
+ */
+@Entity
+@Table(name = "problem_verdict_counts", uniqueConstraints =
+        @UniqueConstraint(name = "uk_problem_verdict_counts_problem_status", columnNames = {"problem_id", "status"}))
+@Data
+public class ProblemVerdictCount {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "problem_id", nullable = false)
+    private Long problemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "VARCHAR(255)", nullable = false)
+    private SubmissionStatus status;
+
+    @Column(nullable = false)
+    private Long total = 0L;
+}
@@ -1,11 +1,16 @@
 package com.datn.onlinerecruitmentsystem.entity;
 
+import com.datn.onlinerecruitmentsystem.enums.SubmissionStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "submissions")
+@Table(name = "submissions", indexes = {
+        @Index(name = "idx_submissions_source_hash", columnList = "source_hash"),
+        @Index(name = "idx_submissions_status_priority_id", columnList = "status, priority DESC, id")
+})
 @Data
 public class Submission {
     @Id
@@ -24,12 +29,50 @@ public class Submission {
     private String sourceCode;
 
     private String language;
-    private String status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "VARCHAR(255)")
+    private SubmissionStatus status;
 
     private Integer passCount;
     private Integer totalTestCases;
     private Integer runtimeMs;
     private Double memoryUsageKb;
 
+    @Column(columnDefinition = "TEXT")
+    private String compileOutput;
+
+    /** Verdict cache key, see SourceHasher. Set when the submission is judged. */
+    @Column(name = "source_hash", length = 64)
+    @JsonIgnore
+    private String sourceHash;
+
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    /** Set when submitted during an assessment session, see AssessmentSessionService. */
+    @Column(name = "assessment_session_id")
+    private Long assessmentSessionId;
+
+    // Higher is judged first: assessment submissions go ahead of practice ones
+    @Column(columnDefinition = "INT DEFAULT 0")
+    @JsonIgnore
+    private Integer priority = 0;
+
+    // Optimistic lock: a judge worker that lost its lease cannot overwrite the verdict of the one that took over
+    @Version
+    @Column(columnDefinition = "BIGINT DEFAULT 0")
+    @JsonIgnore
+    private Long version = 0L;
+
+    /** Judge worker holding the submission and until when, see JudgeQueueService. */
+    @Column(name = "lease_owner", length = 100)
+    @JsonIgnore
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    @JsonIgnore
+    private LocalDateTime leaseExpiresAt;
+
+    @JsonIgnore
+    private Integer attempts = 0;
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.datn.onlinerecruitmentsystem.entity;
+
+import com.datn.onlinerecruitmentsystem.enums.SubmissionStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Verdict and measured resource usage of one test case run of a submission.
+ */
+@Entity
+@Table(name = "submission_test_results")
+@Data
+public class SubmissionTestResult {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "submission_id")
+    @JsonIgnore
+    private Submission submission;
+
+    // Plain id, test cases are replaced when a problem is edited
+    @Column(name = "test_case_id")
+    private Long testCaseId;
+
+    @Column(name = "test_index")
+    private Integer testIndex;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "VARCHAR(255)")
+    private SubmissionStatus status;
+
+    @Column(name = "cpu_time_ms")
+    private Integer cpuTimeMs;
+
+    @Column(name = "wall_time_ms")
+    private Integer wallTimeMs;
+
+    @Column(name = "memory_usage_kb")
+    private Long memoryUsageKb;
+}
@@ -7,8 +7,12 @@ import lombok.Data;
 @Table(name = "test_cases")
 @Data
 public class TestCase {
+    // Ids handed out in blocks so that saveAll() can batch its inserts, IDENTITY would insert row by row
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "test_case_seq")
+    @SequenceGenerator(name = "test_case_seq", sequenceName = "test_case_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(columnDefinition = "TEXT")
@@ -19,6 +23,13 @@ public class TestCase {
 
     private boolean isHidden;
 
+    /** SHA-256 of inputData, names the file in the judge's test data store. */
+    @Column(name = "input_hash", length = 64)
+    private String inputHash;
+
+    @Column(name = "output_hash", length = 64)
+    private String outputHash;
+
     @ManyToOne
     @JoinColumn(name = "problem_id")
     private Problem problem;
@@ -0,0 +1,28 @@
+package com.datn.onlinerecruitmentsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * One piece of a test data blob too large for the test_cases TEXT columns, so that every judge host can
+ * copy it into its own store, see TestDataService.
+ */
+@Entity
+@Table(name = "test_data_chunks", uniqueConstraints =
+        @UniqueConstraint(name = "uk_test_data_chunks_hash_seq", columnNames = {"hash", "seq"}))
+@Data
+public class TestDataChunk {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** SHA-256 of the whole blob, as in the test data store. */
+    @Column(length = 64, nullable = false)
+    private String hash;
+
+    @Column(nullable = false)
+    private Integer seq;
+
+    @Column(columnDefinition = "MEDIUMBLOB", nullable = false)
+    private byte[] data;
+}
@@ -0,0 +1,5 @@
+package com.datn.onlinerecruitmentsystem.enums;
+
+public enum CheckerType {
+    TOKEN, WHITESPACE_INSENSITIVE, FLOAT
+}
@@ -0,0 +1,6 @@
+package com.datn.onlinerecruitmentsystem.enums;
+
+public enum SubmissionStatus {
+    PENDING, RUNNING, ACCEPTED, WRONG_ANSWER, COMPILE_ERROR, RUNTIME_ERROR, TIME_LIMIT_EXCEEDED,
+    MEMORY_LIMIT_EXCEEDED, OUTPUT_LIMIT_EXCEEDED, SYSTEM_ERROR
+}
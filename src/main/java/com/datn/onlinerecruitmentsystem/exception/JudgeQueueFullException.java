@@ -0,0 +1,8 @@
+package com.datn.onlinerecruitmentsystem.exception;
+
+public class JudgeQueueFullException extends RuntimeException {
+
+    public JudgeQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.datn.onlinerecruitmentsystem.repository;
+
+import com.datn.onlinerecruitmentsystem.entity.AssessmentSession;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AssessmentSessionRepository extends JpaRepository<AssessmentSession, Long> {
+
+    List<AssessmentSession> findByJobIdOrderByStartTime(Long jobId);
+
+    List<AssessmentSession> findByEndTimeAfterOrderByStartTime(LocalDateTime time);
+
+    /**
+     * Sessions that start before {@code startsBefore} and are not over at {@code endsAfter}:
+     * running ones and, with a later startsBefore, the ones about to start.
+     */
+    @EntityGraph(attributePaths = "problems")
+    List<AssessmentSession> findByStartTimeBeforeAndEndTimeAfter(LocalDateTime startsBefore, LocalDateTime endsAfter);
+}
@@ -0,0 +1,20 @@
+package com.datn.onlinerecruitmentsystem.repository;
+
+import com.datn.onlinerecruitmentsystem.entity.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Integer> {
+
+    @Modifying
+    @Query("UPDATE CatalogVersion c SET c.version = c.version + 1 WHERE c.id = :id")
+    int increment(@Param("id") Integer id);
+
+    // Read with a query rather than findById so a row already in the persistence context is not returned stale
+    @Query("SELECT c.version FROM CatalogVersion c WHERE c.id = :id")
+    Optional<Long> findVersion(@Param("id") Integer id);
+}
@@ -0,0 +1,28 @@
+package com.datn.onlinerecruitmentsystem.repository;
+
+import com.datn.onlinerecruitmentsystem.entity.JobInvalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface JobInvalidationRepository extends JpaRepository<JobInvalidation, Long> {
+
+    @Query("SELECT COALESCE(MAX(i.id), 0) FROM JobInvalidation i")
+    long findMaxId();
+
+    @Query("SELECT i FROM JobInvalidation i WHERE i.id > :afterId OR i.id IN :gapIds ORDER BY i.id")
+    List<JobInvalidation> findNew(@Param("afterId") Long afterId, @Param("gapIds") Collection<Long> gapIds,
+                                  Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM JobInvalidation i WHERE i.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
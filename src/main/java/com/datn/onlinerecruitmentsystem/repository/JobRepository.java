@@ -1,13 +1,118 @@
 package com.datn.onlinerecruitmentsystem.repository;
 
 import com.datn.onlinerecruitmentsystem.entity.Job;
+import com.datn.onlinerecruitmentsystem.enums.JobStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job> {
 
+    String SUMMARY_SELECT = "SELECT j.id AS id, j.title AS title, j.salaryRange AS salaryRange, j.location AS location, "
+            + "j.category AS category, j.workingTime AS workingTime, j.level AS level, j.status AS status, "
+            + "j.createdAt AS createdAt, r.id AS recruiterId, r.fullName AS recruiterName "
+            + "FROM Job j LEFT JOIN j.recruiter r ";
+
+    // Location and category, when given, must already be LIKE patterns
+    String OPEN_FILTER = "WHERE j.status = com.datn.onlinerecruitmentsystem.enums.JobStatus.OPEN "
+            + "AND (:location IS NULL OR j.location LIKE :location) "
+            + "AND (:category IS NULL OR j.category LIKE :category) ";
+
     List<Job> findByStatus(com.datn.onlinerecruitmentsystem.enums.JobStatus status);
 
     List<Job> findByRecruiterId(Long recruiterId);
-}
\ No newline at end of file
+
+    // Walks the jobs of a status in id order, one page at a time
+    List<Job> findByStatusAndIdGreaterThanOrderById(com.datn.onlinerecruitmentsystem.enums.JobStatus status, Long id,
+                                                    Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE j.status = :status ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobSummary> findSummariesByStatus(@Param("status") JobStatus status);
+
+    @Query(SUMMARY_SELECT + "WHERE j.id IN :ids")
+    List<JobSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = SUMMARY_SELECT + OPEN_FILTER,
+            countQuery = "SELECT COUNT(j) FROM Job j " + OPEN_FILTER)
+    Page<JobSummary> findOpenSummaries(@Param("location") String location, @Param("category") String category,
+                                       Pageable pageable);
+
+    /**
+     * Open jobs after the (createdAt, id) seek position, newest first; the pageable only sets the limit.
+     */
+    @Query(SUMMARY_SELECT + OPEN_FILTER
+            + "AND (:createdAt IS NULL OR j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :id)) "
+            + "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobSummary> findOpenSummariesAfter(@Param("location") String location, @Param("category") String category,
+                                            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                            Pageable pageable);
+
+    @Query("SELECT COUNT(j) FROM Job j " + OPEN_FILTER)
+    long countOpen(@Param("location") String location, @Param("category") String category);
+
+    @Query("SELECT j.id AS id, j.title AS title, j.description AS description, j.salaryRange AS salaryRange, "
+            + "j.location AS location, j.category AS category, j.requirements AS requirements, "
+            + "j.benefits AS benefits, j.workingTime AS workingTime, j.level AS level, j.status AS status, "
+            + "j.createdAt AS createdAt, r.id AS recruiterId, r.fullName AS recruiterName "
+            + "FROM Job j LEFT JOIN j.recruiter r WHERE j.id = :id")
+    Optional<JobDetail> findDetailById(@Param("id") Long id);
+
+    @Query("SELECT j.id AS id, j.location AS location, j.category AS category, j.level AS level, "
+            + "j.workingTime AS workingTime FROM Job j WHERE j.status = com.datn.onlinerecruitmentsystem.enums.JobStatus.OPEN")
+    List<JobFacetRef> findOpenFacetRefs();
+
+    /**
+     * What a job list shows: no long text, and only the recruiter's id and name.
+     */
+    interface JobSummary {
+        Long getId();
+
+        String getTitle();
+
+        String getSalaryRange();
+
+        String getLocation();
+
+        String getCategory();
+
+        String getWorkingTime();
+
+        String getLevel();
+
+        JobStatus getStatus();
+
+        LocalDateTime getCreatedAt();
+
+        Long getRecruiterId();
+
+        String getRecruiterName();
+    }
+
+    interface JobFacetRef {
+        Long getId();
+
+        String getLocation();
+
+        String getCategory();
+
+        String getLevel();
+
+        String getWorkingTime();
+    }
+
+    interface JobDetail extends JobSummary {
+        String getDescription();
+
+        String getRequirements();
+
+        String getBenefits();
+    }
+}
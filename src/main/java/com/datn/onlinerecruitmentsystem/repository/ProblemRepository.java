@@ -1,12 +1,49 @@
 package com.datn.onlinerecruitmentsystem.repository;
 
 import com.datn.onlinerecruitmentsystem.entity.Problem;
+import com.datn.onlinerecruitmentsystem.enums.Difficulty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface ProblemRepository extends JpaRepository<Problem, Long> {
 
     Optional<Problem> findBySlug(String slug);
-}
\ No newline at end of file
+
+    /**
+     * One catalog page without the description and template code. The keyword, if any, must already be
+     * a lower-case LIKE pattern.
+     */
+    @Query(value = "SELECT p.id AS id, p.title AS title, p.slug AS slug, p.difficulty AS difficulty, "
+            + "p.cpuTimeLimit AS cpuTimeLimit, p.memoryLimitMb AS memoryLimitMb, p.createdAt AS createdAt "
+            + "FROM Problem p WHERE (:difficulty IS NULL OR p.difficulty = :difficulty) "
+            + "AND (:keyword IS NULL OR LOWER(p.title) LIKE :keyword OR p.slug LIKE :keyword)",
+            countQuery = "SELECT COUNT(p) FROM Problem p WHERE (:difficulty IS NULL OR p.difficulty = :difficulty) "
+                    + "AND (:keyword IS NULL OR LOWER(p.title) LIKE :keyword OR p.slug LIKE :keyword)")
+    Page<ProblemSummary> findSummaries(@Param("difficulty") Difficulty difficulty,
+                                       @Param("keyword") String keyword,
+                                       Pageable pageable);
+
+    interface ProblemSummary {
+        Long getId();
+
+        String getTitle();
+
+        String getSlug();
+
+        Difficulty getDifficulty();
+
+        Double getCpuTimeLimit();
+
+        Integer getMemoryLimitMb();
+
+        LocalDateTime getCreatedAt();
+    }
+}
@@ -0,0 +1,32 @@
+package com.datn.onlinerecruitmentsystem.repository;
+
+import com.datn.onlinerecruitmentsystem.entity.ProblemVerdictCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ProblemVerdictCountRepository extends JpaRepository<ProblemVerdictCount, Long> {
+
+    List<ProblemVerdictCount> findByProblemId(Long problemId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO problem_verdict_counts (problem_id, status, total) VALUES (:problemId, :status, :delta) "
+            + "ON DUPLICATE KEY UPDATE total = total + :delta", nativeQuery = true)
+    int addToTotal(@Param("problemId") Long problemId, @Param("status") String status, @Param("delta") long delta);
+
+    /**
+     * Fills an empty rollup from the submissions table, once, when the rollup is first deployed.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO problem_verdict_counts (problem_id, status, total) "
+            + "SELECT problem_id, status, COUNT(*) FROM submissions "
+            + "WHERE problem_id IS NOT NULL AND status NOT IN ('PENDING', 'RUNNING') GROUP BY problem_id, status "
+            + "ON DUPLICATE KEY UPDATE total = problem_verdict_counts.total", nativeQuery = true)
+    int seedFromSubmissions();
+}
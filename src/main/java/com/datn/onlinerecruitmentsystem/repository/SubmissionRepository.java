@@ -1,12 +1,109 @@
 package com.datn.onlinerecruitmentsystem.repository;
 
 import com.datn.onlinerecruitmentsystem.entity.Submission;
+import com.datn.onlinerecruitmentsystem.enums.SubmissionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
 
     List<Submission> findByUserIdAndProblemId(Long userId, Long problemId);
 
     List<Submission> findByUserId(Long userId);
+
+    Optional<Submission> findFirstBySourceHashAndStatusInOrderByIdDesc(String sourceHash, Collection<SubmissionStatus> statuses);
+
+    long countByStatus(SubmissionStatus status);
+
+    long countByProblemIdAndIdLessThanEqualAndStatusIn(Long problemId, Long id, Collection<SubmissionStatus> statuses);
+
+    @Query("SELECT MAX(s.id) FROM Submission s WHERE s.problem.id = :problemId")
+    Long findMaxIdByProblemId(@Param("problemId") Long problemId);
+
+    @Query("SELECT MAX(s.id) FROM Submission s")
+    Long findMaxId();
+
+    /**
+     * Submissions per language among those with an id above {@code afterId}, a range scan on the primary key.
+     */
+    @Query("SELECT s.language AS language, COUNT(s) AS total FROM Submission s WHERE s.id > :afterId GROUP BY s.language")
+    List<LanguageCount> countByLanguageAfterId(@Param("afterId") Long afterId);
+
+    /**
+     * Next page of judged submissions of a problem, by id, without loading their source.
+     */
+    @Query("SELECT s.id AS id, s.status AS status FROM Submission s WHERE s.problem.id = :problemId "
+            + "AND s.id > :afterId AND s.id <= :maxId AND s.status IN :statuses ORDER BY s.id")
+    List<VerdictRef> findVerdictRefs(@Param("problemId") Long problemId, @Param("afterId") Long afterId,
+                                     @Param("maxId") Long maxId, @Param("statuses") Collection<SubmissionStatus> statuses,
+                                     Pageable pageable);
+
+    /**
+     * Next page of accepted submissions, by id, with what the leaderboards need and nothing else.
+     */
+    @Query("SELECT s.id AS id, s.problem.id AS problemId, s.user.id AS userId, s.user.fullName AS userName, "
+            + "s.runtimeMs AS runtimeMs, s.createdAt AS createdAt FROM Submission s "
+            + "WHERE s.id > :afterId AND s.status = com.datn.onlinerecruitmentsystem.enums.SubmissionStatus.ACCEPTED "
+            + "ORDER BY s.id")
+    List<AcceptedRef> findAcceptedRefs(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Best accepted submission of a user on a problem, in leaderboard order.
+     */
+    @Query("SELECT s.id AS id, s.problem.id AS problemId, s.user.id AS userId, s.user.fullName AS userName, "
+            + "s.runtimeMs AS runtimeMs, s.createdAt AS createdAt FROM Submission s "
+            + "WHERE s.problem.id = :problemId AND s.user.id = :userId "
+            + "AND s.status = com.datn.onlinerecruitmentsystem.enums.SubmissionStatus.ACCEPTED "
+            + "ORDER BY COALESCE(s.runtimeMs, 2147483647), s.createdAt, s.id")
+    List<AcceptedRef> findBestAccepted(@Param("problemId") Long problemId, @Param("userId") Long userId,
+                                       Pageable pageable);
+
+    /**
+     * Locks up to {@code limit} submissions a judge worker may take: queued ones and running ones
+     * whose lease expired, highest priority first. Rows locked by other workers are skipped rather than waited on.
+     */
+    @Query(value = "SELECT * FROM submissions WHERE status = 'PENDING' "
+            + "OR (status = 'RUNNING' AND lease_expires_at < :now) "
+            + "ORDER BY priority DESC, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Submission> lockClaimable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Submission s SET s.leaseExpiresAt = :expiresAt WHERE s.id IN :ids AND s.leaseOwner = :owner "
+            + "AND s.status = com.datn.onlinerecruitmentsystem.enums.SubmissionStatus.RUNNING")
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+                    @Param("expiresAt") LocalDateTime expiresAt);
+
+    interface VerdictRef {
+        Long getId();
+
+        SubmissionStatus getStatus();
+    }
+
+    interface AcceptedRef {
+        Long getId();
+
+        Long getProblemId();
+
+        Long getUserId();
+
+        String getUserName();
+
+        Integer getRuntimeMs();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface LanguageCount {
+        String getLanguage();
+
+        long getTotal();
+    }
 }
\ No newline at end of file
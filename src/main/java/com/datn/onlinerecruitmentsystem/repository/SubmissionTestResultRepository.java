@@ -0,0 +1,20 @@
+package com.datn.onlinerecruitmentsystem.repository;
+
+import com.datn.onlinerecruitmentsystem.entity.SubmissionTestResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface SubmissionTestResultRepository extends JpaRepository<SubmissionTestResult, Long> {
+
+    List<SubmissionTestResult> findBySubmissionIdOrderByTestIndex(Long submissionId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SubmissionTestResult r WHERE r.submission.id = :submissionId")
+    void deleteBySubmissionId(@Param("submissionId") Long submissionId);
+}
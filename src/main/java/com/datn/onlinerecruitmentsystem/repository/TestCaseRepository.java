@@ -2,10 +2,44 @@ package com.datn.onlinerecruitmentsystem.repository;
 
 import com.datn.onlinerecruitmentsystem.entity.TestCase;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface TestCaseRepository extends JpaRepository<TestCase, Long> {
     List<TestCase> findByProblemId(Long problemId);
+
+    @Query("SELECT t FROM TestCase t WHERE t.problem.id = :problemId AND t.isHidden = false ORDER BY t.id")
+    List<TestCase> findSamplesByProblemId(@Param("problemId") Long problemId);
     void deleteAllByProblemId(Long problemId);
+
+    /**
+     * Test data references only, without the TEXT columns.
+     */
+    @Query("SELECT t.id AS id, t.inputHash AS inputHash, t.outputHash AS outputHash, t.isHidden AS hidden " +
+            "FROM TestCase t WHERE t.problem.id = :problemId ORDER BY t.id")
+    List<DataRef> findDataRefsByProblemId(@Param("problemId") Long problemId);
+
+    /**
+     * Moves the id sequence (a table on MySQL) past the ids of rows inserted while the column was
+     * AUTO_INCREMENT, a whole allocation block ahead since the pooled optimizer hands out ids below the stored value.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE test_case_seq SET next_val = GREATEST(next_val, " +
+            "(SELECT COALESCE(MAX(id), 0) + :allocationSize + 1 FROM test_cases))", nativeQuery = true)
+    int alignIdSequence(@Param("allocationSize") int allocationSize);
+
+    interface DataRef {
+        Long getId();
+
+        String getInputHash();
+
+        String getOutputHash();
+
+        boolean isHidden();
+    }
 }
\ No newline at end of file
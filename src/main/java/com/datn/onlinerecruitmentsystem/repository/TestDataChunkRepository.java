@@ -0,0 +1,13 @@
+package com.datn.onlinerecruitmentsystem.repository;
+
+import com.datn.onlinerecruitmentsystem.entity.TestDataChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface TestDataChunkRepository extends JpaRepository<TestDataChunk, Long> {
+
+    boolean existsByHashAndSeq(String hash, Integer seq);
+
+    Optional<TestDataChunk> findByHashAndSeq(String hash, Integer seq);
+}
@@ -0,0 +1,96 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import com.datn.onlinerecruitmentsystem.dto.AssessmentSessionDTO;
+import com.datn.onlinerecruitmentsystem.entity.AssessmentSession;
+import com.datn.onlinerecruitmentsystem.entity.Job;
+import com.datn.onlinerecruitmentsystem.entity.Problem;
+import com.datn.onlinerecruitmentsystem.repository.ApplicationRepository;
+import com.datn.onlinerecruitmentsystem.repository.AssessmentSessionRepository;
+import com.datn.onlinerecruitmentsystem.repository.JobRepository;
+import com.datn.onlinerecruitmentsystem.repository.ProblemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AssessmentSessionService {
+
+    private final AssessmentSessionRepository assessmentSessionRepository;
+    private final JobRepository jobRepository;
+    private final ProblemRepository problemRepository;
+    private final ApplicationRepository applicationRepository;
+
+    @Transactional
+    public AssessmentSession createSession(AssessmentSessionDTO dto) {
+        AssessmentSession session = new AssessmentSession();
+        apply(session, dto);
+        return assessmentSessionRepository.save(session);
+    }
+
+    @Transactional
+    public AssessmentSession updateSession(Long id, AssessmentSessionDTO dto) {
+        AssessmentSession session = getSession(id);
+        apply(session, dto);
+        return assessmentSessionRepository.save(session);
+    }
+
+    public void deleteSession(Long id) {
+        assessmentSessionRepository.delete(getSession(id));
+    }
+
+    public AssessmentSession getSession(Long id) {
+        return assessmentSessionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Assessment session not found with id: " + id));
+    }
+
+    public List<AssessmentSession> getSessionsByJob(Long jobId) {
+        return assessmentSessionRepository.findByJobIdOrderByStartTime(jobId);
+    }
+
+    public List<AssessmentSession> getUpcomingSessions() {
+        return assessmentSessionRepository.findByEndTimeAfterOrderByStartTime(LocalDateTime.now());
+    }
+
+    /**
+     * Checks that a submission may count for the session: it is running, the problem belongs to it
+     * and the user applied to its job. Only such submissions get the assessment queue priority.
+     */
+    @Transactional(readOnly = true)
+    public AssessmentSession requireOpenSession(Long sessionId, Long userId, Long problemId) {
+        AssessmentSession session = assessmentSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Assessment session not found with id: " + sessionId));
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(session.getStartTime()) || !now.isBefore(session.getEndTime())) {
+            throw new IllegalArgumentException("Assessment session is not running");
+        }
+        if (session.getProblems().stream().noneMatch(problem -> problem.getId().equals(problemId))) {
+            throw new IllegalArgumentException("Problem is not part of the assessment session");
+        }
+        if (!applicationRepository.existsByCandidateIdAndJobId(userId, session.getJob().getId())) {
+            throw new IllegalArgumentException("User has not applied to the job of the assessment session");
+        }
+        return session;
+    }
+
+    private void apply(AssessmentSession session, AssessmentSessionDTO dto) {
+        if (dto.getStartTime() == null || dto.getEndTime() == null || !dto.getStartTime().isBefore(dto.getEndTime())) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+        Job job = jobRepository.findById(dto.getJobId())
+                .orElseThrow(() -> new IllegalArgumentException("Job not found with id: " + dto.getJobId()));
+        List<Problem> problems = problemRepository.findAllById(dto.getProblemIds() != null ? dto.getProblemIds() : List.of());
+        if (problems.isEmpty()) {
+            throw new IllegalArgumentException("An assessment session needs at least one problem");
+        }
+
+        session.setTitle(dto.getTitle());
+        session.setJob(job);
+        session.setProblems(problems);
+        session.setStartTime(dto.getStartTime());
+        session.setEndTime(dto.getEndTime());
+    }
+}
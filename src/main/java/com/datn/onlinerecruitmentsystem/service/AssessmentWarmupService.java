@@ -0,0 +1,75 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import com.datn.onlinerecruitmentsystem.entity.AssessmentSession;
+import com.datn.onlinerecruitmentsystem.entity.Problem;
+import com.datn.onlinerecruitmentsystem.repository.AssessmentSessionRepository;
+import com.datn.onlinerecruitmentsystem.service.judge.SandboxRunner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gets every judge node ready for an assessment session shortly before it starts: the test sets of
+ * its problems are loaded into the test set cache (test data blobs fetched to the local store on the
+ * way) and the sandbox pool grows by {@code judge.assessment.extra-sandboxes} until the session ends.
+ * Sessions are checked again on every run while they last, which also keeps their test sets from
+ * being evicted by practice traffic.
+ */
+@Service
+@RequiredArgsConstructor
+public class AssessmentWarmupService {
+
+    private final AssessmentSessionRepository assessmentSessionRepository;
+    private final TestDataService testDataService;
+    private final SandboxRunner sandboxRunner;
+    private final ThreadPoolTaskExecutor judgeExecutor;
+
+    @Value("${judge.assessment.warmup-lead-minutes:10}")
+    private long leadMinutes;
+
+    @Value("${judge.assessment.extra-sandboxes:4}")
+    private int extraSandboxes;
+
+    // Sessions whose capacity was already reserved on this node, with their end time
+    private final Map<Long, LocalDateTime> reserved = new ConcurrentHashMap<>();
+
+    @Scheduled(initialDelayString = "${judge.assessment.warmup-interval-ms:60000}",
+            fixedDelayString = "${judge.assessment.warmup-interval-ms:60000}")
+    public void warmUp() {
+        LocalDateTime now = LocalDateTime.now();
+        reserved.values().removeIf(endTime -> !endTime.isAfter(now));
+
+        List<AssessmentSession> sessions;
+        try {
+            sessions = assessmentSessionRepository.findByStartTimeBeforeAndEndTimeAfter(now.plusMinutes(leadMinutes), now);
+        } catch (Exception e) {
+            System.err.println("Could not load upcoming assessment sessions: " + e.getMessage());
+            return;
+        }
+
+        for (AssessmentSession session : sessions) {
+            for (Problem problem : session.getProblems()) {
+                try {
+                    testDataService.loadTestSet(problem);
+                } catch (Exception e) {
+                    System.err.println("Could not preload tests of problem " + problem.getId()
+                            + " for assessment session " + session.getId() + ": " + e.getMessage());
+                }
+            }
+
+            if (reserved.putIfAbsent(session.getId(), session.getEndTime()) == null) {
+                System.out.println("Warming up judge for assessment session " + session.getId()
+                        + " starting at " + session.getStartTime());
+                judgeExecutor.getThreadPoolExecutor().prestartAllCoreThreads();
+                sandboxRunner.reserveCapacity(extraSandboxes, session.getEndTime());
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import com.datn.onlinerecruitmentsystem.repository.JobRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of job details and of the open-job listing. Entries expire after
+ * {@code jobs.cache.ttl-seconds}, the least recently used details are evicted beyond
+ * {@code jobs.cache.max-details}, and JobInvalidationService drops the entries of every job that changes,
+ * on this node or another one. The TTL only bounds how stale a missed invalidation can leave an entry.
+ */
+@Component
+public class JobCache {
+
+    @Value("${jobs.cache.max-details:5000}")
+    private int maxDetails;
+
+    @Value("${jobs.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final LinkedHashMap<Long, Entry<JobRepository.JobDetail>> details = new LinkedHashMap<>(16, 0.75f, true);
+    private Entry<List<JobRepository.JobSummary>> openJobs;
+    // Bumped by every invalidation, a load that started before one is returned but not cached
+    private long generation;
+
+    private final AtomicLong detailHits = new AtomicLong();
+    private final AtomicLong detailMisses = new AtomicLong();
+    private final AtomicLong listingHits = new AtomicLong();
+    private final AtomicLong listingMisses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Returns the cached detail of a job, or loads and caches it. The loader runs outside the lock, so two
+     * concurrent misses may both load; a loader that throws caches nothing.
+     */
+    public JobRepository.JobDetail getDetail(Long jobId, Supplier<JobRepository.JobDetail> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<JobRepository.JobDetail> entry = details.get(jobId);
+            if (entry != null && !entry.isExpired()) {
+                detailHits.incrementAndGet();
+                return entry.value;
+            }
+            if (entry != null) {
+                details.remove(jobId);
+                expirations.incrementAndGet();
+            }
+            loadGeneration = generation;
+        }
+
+        detailMisses.incrementAndGet();
+        JobRepository.JobDetail detail = loader.get();
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                details.put(jobId, new Entry<>(detail, expiresAt()));
+                Iterator<Long> eldest = details.keySet().iterator();
+                while (details.size() > maxDetails && eldest.hasNext()) {
+                    eldest.next();
+                    eldest.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+        return detail;
+    }
+
+    /**
+     * Returns the cached listing of the open jobs, or loads and caches it, like {@link #getDetail}.
+     */
+    public List<JobRepository.JobSummary> getOpenJobs(Supplier<List<JobRepository.JobSummary>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            if (openJobs != null && !openJobs.isExpired()) {
+                listingHits.incrementAndGet();
+                return openJobs.value;
+            }
+            if (openJobs != null) {
+                openJobs = null;
+                expirations.incrementAndGet();
+            }
+            loadGeneration = generation;
+        }
+
+        listingMisses.incrementAndGet();
+        List<JobRepository.JobSummary> jobs = List.copyOf(loader.get());
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                openJobs = new Entry<>(jobs, expiresAt());
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Drops the job's detail and the listing, which may show the job.
+     */
+    public synchronized void invalidate(Long jobId) {
+        generation++;
+        details.remove(jobId);
+        openJobs = null;
+        invalidations.incrementAndGet();
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        details.clear();
+        openJobs = null;
+        invalidations.incrementAndGet();
+    }
+
+    public synchronized Stats getStats() {
+        long hits = detailHits.get() + listingHits.get();
+        long lookups = hits + detailMisses.get() + listingMisses.get();
+        return new Stats(detailHits.get(), detailMisses.get(), listingHits.get(), listingMisses.get(),
+                lookups > 0 ? (double) hits / lookups : 0, evictions.get(), expirations.get(), invalidations.get(),
+                details.size());
+    }
+
+    private long expiresAt() {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    @AllArgsConstructor
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final long detailHits;
+        private final long detailMisses;
+        private final long listingHits;
+        private final long listingMisses;
+        private final double hitRatio;
+        private final long evictions;
+        private final long expirations;
+        private final long invalidations;
+        private final int cachedDetails;
+    }
+}
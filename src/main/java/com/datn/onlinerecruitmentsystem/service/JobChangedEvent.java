@@ -0,0 +1,13 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by JobService whenever a job is created, updated or deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class JobChangedEvent {
+    private final Long jobId;
+}
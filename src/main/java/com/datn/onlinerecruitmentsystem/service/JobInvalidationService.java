@@ -0,0 +1,136 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import com.datn.onlinerecruitmentsystem.entity.Job;
+import com.datn.onlinerecruitmentsystem.entity.JobInvalidation;
+import com.datn.onlinerecruitmentsystem.repository.JobInvalidationRepository;
+import com.datn.onlinerecruitmentsystem.repository.JobRepository;
+import com.datn.onlinerecruitmentsystem.service.search.JobFacetIndex;
+import com.datn.onlinerecruitmentsystem.service.search.JobSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps the job cache and the search and facet indexes of every API node coherent. A job change is applied
+ * to this node's copies once it commits and logged in job_cache_invalidations; every node polls the log
+ * every {@code jobs.cache.invalidation-poll-ms} and applies the changes made by the others.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobInvalidationService {
+
+    private static final int POLL_BATCH_SIZE = 500;
+    // An id below the newest one seen may still be in an uncommitted transaction, it is looked for this long
+    private static final long GAP_WAIT_MS = 60_000;
+    private static final int MAX_GAPS = 1000;
+
+    private final JobInvalidationRepository jobInvalidationRepository;
+    private final JobRepository jobRepository;
+    private final JobCache jobCache;
+    private final JobSearchIndex jobSearchIndex;
+    private final JobFacetIndex jobFacetIndex;
+
+    @Value("${jobs.cache.invalidation-retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    // Only touched by the scheduled poll, which never overlaps itself
+    private final Map<Long, Long> gapDeadlines = new HashMap<>();
+    private volatile long lastSeenId = -1;
+
+    /**
+     * Applies a job change to this node and logs it for the others. Runs after the change commits, in a
+     * transaction of its own; a failed log write leaves the other nodes to the cache TTL.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onJobChanged(JobChangedEvent event) {
+        jobCache.invalidate(event.getJobId());
+        try {
+            JobInvalidation invalidation = new JobInvalidation();
+            invalidation.setJobId(event.getJobId());
+            invalidation.setNodeId(nodeId);
+            jobInvalidationRepository.save(invalidation);
+        } catch (RuntimeException e) {
+            System.err.println("Could not log the change of job " + event.getJobId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts reading the log after its current end; everything before it is already in the database this
+     * node loaded its caches and indexes from.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            lastSeenId = jobInvalidationRepository.findMaxId();
+        } catch (RuntimeException e) {
+            System.err.println("Could not read the job invalidation log: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.cache.invalidation-poll-ms:2000}")
+    public void poll() {
+        if (lastSeenId < 0) {
+            start();
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            gapDeadlines.values().removeIf(deadline -> deadline < now);
+            // An empty IN list is not portable SQL, and no row has id 0
+            List<Long> gapIds = gapDeadlines.isEmpty() ? List.of(0L) : List.copyOf(gapDeadlines.keySet());
+            for (JobInvalidation invalidation : jobInvalidationRepository.findNew(lastSeenId, gapIds,
+                    PageRequest.of(0, POLL_BATCH_SIZE))) {
+                if (invalidation.getId() > lastSeenId) {
+                    for (long id = lastSeenId + 1; id < invalidation.getId() && gapDeadlines.size() < MAX_GAPS; id++) {
+                        gapDeadlines.put(id, now + GAP_WAIT_MS);
+                    }
+                    lastSeenId = invalidation.getId();
+                } else {
+                    gapDeadlines.remove(invalidation.getId());
+                }
+                if (!nodeId.equals(invalidation.getNodeId())) {
+                    apply(invalidation.getJobId());
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Could not poll the job invalidation log: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.cache.invalidation-prune-interval-ms:600000}")
+    public void prune() {
+        try {
+            jobInvalidationRepository.deleteOlderThan(LocalDateTime.now().minusMinutes(retentionMinutes));
+        } catch (RuntimeException e) {
+            System.err.println("Could not prune the job invalidation log: " + e.getMessage());
+        }
+    }
+
+    private void apply(Long jobId) {
+        jobCache.invalidate(jobId);
+        Optional<Job> job = jobRepository.findById(jobId);
+        if (job.isPresent()) {
+            jobSearchIndex.index(job.get());
+            jobFacetIndex.index(job.get());
+        } else {
+            jobSearchIndex.remove(jobId);
+            jobFacetIndex.remove(jobId);
+        }
+    }
+}
@@ -1,40 +1,119 @@
 package com.datn.onlinerecruitmentsystem.service;
 
 import com.datn.onlinerecruitmentsystem.dto.request.CreateJobRequest;
+import com.datn.onlinerecruitmentsystem.dto.response.CursorPageResponse;
 import com.datn.onlinerecruitmentsystem.dto.response.PageResponse;
 import com.datn.onlinerecruitmentsystem.entity.Job;
 import com.datn.onlinerecruitmentsystem.entity.User;
 import com.datn.onlinerecruitmentsystem.enums.JobStatus;
 import com.datn.onlinerecruitmentsystem.exception.ResourceNotFoundException;
 import com.datn.onlinerecruitmentsystem.repository.JobRepository;
-import com.datn.onlinerecruitmentsystem.specification.JobSpecification;
 import com.datn.onlinerecruitmentsystem.repository.UserRepository;
+import com.datn.onlinerecruitmentsystem.service.search.JobFacetIndex;
+import com.datn.onlinerecruitmentsystem.service.search.JobSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class JobService {
+    private static final int INDEX_PAGE_SIZE = 500;
+
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
+    private final JobSearchIndex jobSearchIndex;
+    private final JobFacetIndex jobFacetIndex;
+    private final JobCache jobCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public List<JobRepository.JobSummary> getAllOpenJobs() {
+        return jobCache.getOpenJobs(() -> jobRepository.findSummariesByStatus(JobStatus.OPEN));
+    }
+
+    /**
+     * Loads the OPEN jobs into the search index, one page at a time.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildSearchIndex() {
+        long started = System.currentTimeMillis();
+        try {
+            jobSearchIndex.clear();
+            long afterId = 0;
+            List<Job> page;
+            do {
+                page = jobRepository.findByStatusAndIdGreaterThanOrderById(JobStatus.OPEN, afterId, PageRequest.of(0, INDEX_PAGE_SIZE));
+                for (Job job : page) {
+                    jobSearchIndex.index(job);
+                    afterId = job.getId();
+                }
+            } while (page.size() == INDEX_PAGE_SIZE);
+            System.out.println("Indexed " + jobSearchIndex.size() + " open jobs for search in "
+                    + (System.currentTimeMillis() - started) + " ms");
+        } catch (RuntimeException e) {
+            System.err.println("Could not build the job search index: " + e.getMessage());
+        }
+    }
 
-    public List<Job> getAllOpenJobs() {
-        return jobRepository.findByStatus(JobStatus.OPEN);
+    /**
+     * Brings the facet counters in line with the database, which also covers jobs written through other
+     * nodes. Runs at startup and then every {@code jobs.facets.reconcile-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${jobs.facets.reconcile-interval-ms:300000}")
+    public void reconcileFacets() {
+        try {
+            jobFacetIndex.beginReconcile();
+            List<JobFacetIndex.FacetValues> openJobs = jobRepository.findOpenFacetRefs().stream()
+                    .map(ref -> new JobFacetIndex.FacetValues(ref.getId(), ref.getLocation(), ref.getCategory(),
+                            ref.getLevel(), ref.getWorkingTime()))
+                    .toList();
+            int changed = jobFacetIndex.replaceAll(openJobs);
+            if (changed > 0) {
+                System.out.println("Reconciled job facets: " + changed + " of " + openJobs.size() + " open jobs differed");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Could not reconcile the job facets: " + e.getMessage());
+        }
     }
 
     /**
-     * Search jobs with filters and pagination
+     * Facet counts for the results of a search, see {@link JobFacetIndex#counts}.
      */
-    public PageResponse<Job> searchJobs(String keyword, String location, String category, Pageable pageable) {
-        Page<Job> page = jobRepository.findAll(
-                JobSpecification.searchJobs(keyword, location, category),
-                pageable);
+    public Map<String, Map<String, Integer>> getFacets(String keyword, String location, String category) {
+        List<Long> ids = keyword != null && !keyword.isBlank() ? jobSearchIndex.search(keyword, null, null) : null;
+        return jobFacetIndex.counts(ids, location, category);
+    }
 
-        return PageResponse.<Job>builder()
+    /**
+     * Search jobs with filters and pagination.
+     * With a keyword, the OPEN jobs are matched and ranked by relevance through the search index;
+     * without one, they are listed in the pageable's order.
+     */
+    public PageResponse<JobRepository.JobSummary> searchJobs(String keyword, String location, String category,
+                                                             Pageable pageable) {
+        if (keyword != null && !keyword.isBlank()) {
+            return searchIndexedJobs(keyword, location, category, pageable);
+        }
+        Page<JobRepository.JobSummary> page = jobRepository.findOpenSummaries(
+                likePattern(location), likePattern(category), pageable);
+
+        return PageResponse.<JobRepository.JobSummary>builder()
                 .content(page.getContent())
                 .page(page.getNumber())
                 .size(page.getSize())
@@ -45,31 +124,139 @@ public class JobService {
                 .build();
     }
 
+    private PageResponse<JobRepository.JobSummary> searchIndexedJobs(String keyword, String location, String category,
+                                                                     Pageable pageable) {
+        List<Long> ids = jobSearchIndex.search(keyword, location, category);
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int totalPages = (ids.size() + pageable.getPageSize() - 1) / pageable.getPageSize();
+
+        return PageResponse.<JobRepository.JobSummary>builder()
+                .content(findSummariesInOrder(ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()))))
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .totalElements(ids.size())
+                .totalPages(totalPages)
+                .first(pageable.getPageNumber() == 0)
+                .last(pageable.getPageNumber() >= totalPages - 1)
+                .build();
+    }
+
     /**
-     * Get all open jobs with pagination
+     * Same search as {@link #searchJobs}, paginated with a cursor instead of a page number. Listings seek past
+     * the (createdAt, id) of the previous page's last job, so no OFFSET is scanned; keyword searches keep
+     * their relevance order and the cursor holds a position in it. The total is only counted on request.
+     *
+     * @param cursor the previous page's nextCursor, null or empty for the first page
      */
-    public PageResponse<Job> getOpenJobsPaginated(Pageable pageable) {
-        Page<Job> page = jobRepository.findAll(
-                JobSpecification.searchJobs(null, null, null),
-                pageable);
+    public CursorPageResponse<JobRepository.JobSummary> searchJobsByCursor(String keyword, String location, String category,
+                                                                           String cursor, int requestedSize, boolean withTotal) {
+        int size = Math.min(Math.max(requestedSize, 1), 100);
+        String position = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        if (keyword != null && !keyword.isBlank()) {
+            int offset = position != null ? (int) parseCursorNumber(position, "k:") : 0;
+            List<Long> ids = jobSearchIndex.search(keyword, location, category);
+            int from = Math.min(offset, ids.size());
+            int to = Math.min(from + size, ids.size());
+            return CursorPageResponse.<JobRepository.JobSummary>builder()
+                    .content(findSummariesInOrder(ids.subList(from, to)))
+                    .size(size)
+                    .hasNext(to < ids.size())
+                    .nextCursor(to < ids.size() ? encodeCursor("k:" + to) : null)
+                    .totalElements(withTotal ? (long) ids.size() : null)
+                    .build();
+        }
 
-        return PageResponse.<Job>builder()
-                .content(page.getContent())
-                .page(page.getNumber())
-                .size(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .first(page.isFirst())
-                .last(page.isLast())
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (position != null) {
+            // "t:<createdAt>|<id>" of the last job returned
+            int separator = position.indexOf('|');
+            if (!position.startsWith("t:") || separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            try {
+                afterCreatedAt = LocalDateTime.parse(position.substring(2, separator));
+                afterId = parseCursorNumber(position.substring(separator + 1), "");
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        // One row more than asked tells whether there is a next page, without a count
+        List<JobRepository.JobSummary> rows = jobRepository.findOpenSummariesAfter(likePattern(location),
+                likePattern(category), afterCreatedAt, afterId, PageRequest.of(0, size + 1));
+        boolean hasNext = rows.size() > size;
+        List<JobRepository.JobSummary> content = hasNext ? rows.subList(0, size) : rows;
+        JobRepository.JobSummary last = hasNext ? content.get(content.size() - 1) : null;
+        return CursorPageResponse.<JobRepository.JobSummary>builder()
+                .content(content)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(last != null ? encodeCursor("t:" + last.getCreatedAt() + "|" + last.getId()) : null)
+                .totalElements(withTotal ? jobRepository.countOpen(likePattern(location), likePattern(category)) : null)
                 .build();
     }
 
+    /**
+     * Summaries of the given jobs in the given order; a job deleted since the ids were read is left out.
+     */
+    private List<JobRepository.JobSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, JobRepository.JobSummary> jobs = jobRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(JobRepository.JobSummary::getId, Function.identity()));
+        return ids.stream().map(jobs::get).filter(Objects::nonNull).toList();
+    }
+
+    private static String likePattern(String value) {
+        return value == null || value.isBlank() ? null : "%" + value.trim() + "%";
+    }
+
+    private static String encodeCursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static long parseCursorNumber(String part, String prefix) {
+        if (!part.startsWith(prefix)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            long value = Long.parseLong(part.substring(prefix.length()));
+            if (value < 0 || value > Integer.MAX_VALUE && prefix.equals("k:")) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Get all open jobs with pagination
+     */
+    public PageResponse<JobRepository.JobSummary> getOpenJobsPaginated(Pageable pageable) {
+        return searchJobs(null, null, null, pageable);
+    }
+
     public Job createJob(Job job, Long recruiterId) {
         User recruiter = userRepository.findById(recruiterId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", recruiterId));
         job.setRecruiter(recruiter);
         job.setStatus(JobStatus.OPEN);
-        return jobRepository.save(job);
+        Job saved = jobRepository.save(job);
+        jobSearchIndex.index(saved);
+        jobFacetIndex.index(saved);
+        eventPublisher.publishEvent(new JobChangedEvent(saved.getId()));
+        return saved;
     }
 
     public Job createJobFromRequest(CreateJobRequest request, Long recruiterId) {
@@ -90,7 +277,11 @@ public class JobService {
         job.setRecruiter(recruiter);
         job.setStatus(JobStatus.OPEN);
 
-        return jobRepository.save(job);
+        Job saved = jobRepository.save(job);
+        jobSearchIndex.index(saved);
+        jobFacetIndex.index(saved);
+        eventPublisher.publishEvent(new JobChangedEvent(saved.getId()));
+        return saved;
     }
 
     public Job updateJob(Long id, Job jobDetails) {
@@ -117,7 +308,11 @@ public class JobService {
             job.setStatus(jobDetails.getStatus());
         }
 
-        return jobRepository.save(job);
+        Job saved = jobRepository.save(job);
+        jobSearchIndex.index(saved);
+        jobFacetIndex.index(saved);
+        eventPublisher.publishEvent(new JobChangedEvent(saved.getId()));
+        return saved;
     }
 
     public void deleteJob(Long id) {
@@ -125,12 +320,20 @@ public class JobService {
             throw new ResourceNotFoundException("Job", "id", id);
         }
         jobRepository.deleteById(id);
+        jobSearchIndex.remove(id);
+        jobFacetIndex.remove(id);
+        eventPublisher.publishEvent(new JobChangedEvent(id));
     }
 
     public List<Job> getAllJobs() {
         return jobRepository.findAll();
     }
 
+    public JobRepository.JobDetail getJobDetail(Long id) {
+        return jobCache.getDetail(id, () -> jobRepository.findDetailById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Job", "id", id)));
+    }
+
     public Job getJobById(Long id) {
         return jobRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Job", "id", id));
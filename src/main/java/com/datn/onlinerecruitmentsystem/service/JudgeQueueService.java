@@ -0,0 +1,82 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import com.datn.onlinerecruitmentsystem.entity.Submission;
+import com.datn.onlinerecruitmentsystem.enums.SubmissionStatus;
+import com.datn.onlinerecruitmentsystem.repository.SubmissionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The submissions table used as the judge job queue (judge.queue.mode=database).
+ * A worker claims rows by taking a lease on them; it keeps renewing the lease while it judges,
+ * and a row whose lease ran out (its worker died) can be claimed again by anyone.
+ */
+@Service
+@RequiredArgsConstructor
+public class JudgeQueueService {
+
+    private final SubmissionRepository submissionRepository;
+
+    @Value("${judge.worker.lease-seconds:60}")
+    private long leaseSeconds;
+
+    // A submission that keeps killing its worker is given up on after this many claims
+    @Value("${judge.worker.max-attempts:3}")
+    private int maxAttempts;
+
+    /**
+     * Claims up to {@code limit} submissions for the worker and returns their ids.
+     */
+    @Transactional
+    public List<Long> claim(String workerId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> claimed = new ArrayList<>();
+        for (Submission submission : submissionRepository.lockClaimable(now, limit)) {
+            int attempts = (submission.getAttempts() != null ? submission.getAttempts() : 0) + 1;
+            submission.setAttempts(attempts);
+            if (attempts > maxAttempts) {
+                System.err.println("Submission " + submission.getId() + " abandoned after " + maxAttempts + " attempts");
+                submission.setStatus(SubmissionStatus.SYSTEM_ERROR);
+                submission.setLeaseOwner(null);
+                submission.setLeaseExpiresAt(null);
+                continue;
+            }
+            submission.setStatus(SubmissionStatus.RUNNING);
+            submission.setLeaseOwner(workerId);
+            submission.setLeaseExpiresAt(now.plusSeconds(leaseSeconds));
+            claimed.add(submission.getId());
+        }
+        return claimed;
+    }
+
+    /**
+     * Puts a judged submission back in the queue with no lease and no attempts, for a rejudge. Returns the
+     * verdict it had, or null when it is queued or being judged already.
+     */
+    @Transactional
+    public SubmissionStatus requeue(Long submissionId) {
+        Submission submission = submissionRepository.findById(submissionId)
+                .orElseThrow(() -> new RuntimeException("Submission not found"));
+        SubmissionStatus previous = submission.getStatus();
+        if (previous == SubmissionStatus.PENDING || previous == SubmissionStatus.RUNNING) {
+            return null;
+        }
+        submission.setStatus(SubmissionStatus.PENDING);
+        submission.setLeaseOwner(null);
+        submission.setLeaseExpiresAt(null);
+        submission.setAttempts(0);
+        return previous;
+    }
+
+    @Transactional
+    public void renewLeases(String workerId, Collection<Long> submissionIds) {
+        submissionRepository.renewLeases(submissionIds, workerId, LocalDateTime.now().plusSeconds(leaseSeconds));
+    }
+}
@@ -0,0 +1,372 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import com.datn.onlinerecruitmentsystem.entity.Problem;
+import com.datn.onlinerecruitmentsystem.entity.Submission;
+import com.datn.onlinerecruitmentsystem.entity.SubmissionTestResult;
+import com.datn.onlinerecruitmentsystem.enums.SubmissionStatus;
+import com.datn.onlinerecruitmentsystem.repository.SubmissionRepository;
+import com.datn.onlinerecruitmentsystem.repository.SubmissionTestResultRepository;
+import com.datn.onlinerecruitmentsystem.service.judge.JudgeProgressPublisher;
+import com.datn.onlinerecruitmentsystem.service.judge.JudgeTestCase;
+import com.datn.onlinerecruitmentsystem.service.judge.LanguageRunner;
+import com.datn.onlinerecruitmentsystem.service.judge.LanguageRunnerRegistry;
+import com.datn.onlinerecruitmentsystem.service.judge.OutputChecker;
+import com.datn.onlinerecruitmentsystem.service.judge.OutputCheckerRegistry;
+import com.datn.onlinerecruitmentsystem.service.judge.ProcessExecutor;
+import com.datn.onlinerecruitmentsystem.service.judge.ProcessExecutor.ExecutionResult;
+import com.datn.onlinerecruitmentsystem.service.judge.ResourceMeter;
+import com.datn.onlinerecruitmentsystem.service.judge.Sandbox;
+import com.datn.onlinerecruitmentsystem.service.judge.SandboxRunner;
+import com.datn.onlinerecruitmentsystem.service.judge.SourceHasher;
+import com.datn.onlinerecruitmentsystem.service.judge.TestDataStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+public class JudgeService {
+
+    private static final long COMPILE_TIMEOUT_MILLIS = 30_000;
+
+    private final SubmissionRepository submissionRepository;
+    private final SubmissionTestResultRepository submissionTestResultRepository;
+    private final TestDataService testDataService;
+    private final TestDataStore testDataStore;
+    private final SandboxRunner sandboxRunner;
+    private final ThreadPoolTaskExecutor judgeTestExecutor;
+    private final ProcessExecutor processExecutor;
+    private final OutputCheckerRegistry outputCheckerRegistry;
+    private final JudgeProgressPublisher progressPublisher;
+    private final LanguageRunnerRegistry languageRunnerRegistry;
+    private final LeaderboardService leaderboardService;
+    private final ProblemStatsService problemStatsService;
+
+    @Value("${judge.tests.parallelism:4}")
+    private int testParallelism;
+
+    // Used when the problem does not set its own limits
+    @Value("${judge.run.default-cpu-time-limit:2.0}")
+    private double defaultCpuTimeLimit;
+
+    @Value("${judge.run.default-memory-limit-mb:256}")
+    private int defaultMemoryLimitMb;
+
+    // The wall clock timeout is this many times the CPU limit, it only catches programs that sleep or block
+    @Value("${judge.run.wall-time-factor:3}")
+    private int wallTimeFactor;
+
+    /**
+     * Runs a saved submission against all test cases of its problem and stores the verdict.
+     * Called from the judge executor (or a rejudge job), never from a request thread.
+     */
+    public Submission judge(Long submissionId) {
+        Submission submission = submissionRepository.findById(submissionId)
+                .orElseThrow(() -> new RuntimeException("Submission not found"));
+        SubmissionStatus previousStatus = submission.getStatus();
+        submission.setStatus(SubmissionStatus.RUNNING);
+        // Left over when the submission is judged again
+        submission.setCompileOutput(null);
+        submission.setRuntimeMs(null);
+        submission.setMemoryUsageKb(null);
+        // Hashed against the test set version the verdict is actually computed on
+        submission.setSourceHash(SourceHasher.hash(submission.getSourceCode(), submission.getLanguage(),
+                submission.getProblem()));
+        submission = submissionRepository.save(submission);
+
+        Path workDir = null;
+        List<SubmissionTestResult> testResults = List.of();
+        try {
+            workDir = Files.createTempDirectory("submission_" + submission.getId());
+            testResults = evaluate(submission, workDir);
+        } catch (Exception e) {
+            System.err.println("Judge error for submission " + submissionId + ": " + e.getMessage());
+            submission.setStatus(SubmissionStatus.SYSTEM_ERROR);
+        } finally {
+            if (workDir != null) {
+                FileSystemUtils.deleteRecursively(workDir.toFile());
+            }
+        }
+
+        // Judged: a worker's lease ends with the verdict, so the row can never look abandoned
+        submission.setLeaseOwner(null);
+        submission.setLeaseExpiresAt(null);
+        submission = submissionRepository.save(submission);
+        submissionTestResultRepository.deleteBySubmissionId(submission.getId());
+        submissionTestResultRepository.saveAll(testResults);
+        progressPublisher.verdict(submission);
+        leaderboardService.onVerdict(submission);
+        problemStatsService.onVerdict(submission.getProblem().getId(), previousStatus, submission.getStatus());
+        return submission;
+    }
+
+    /**
+     * Compiles and runs the submission, sets its verdict and returns the results of the tests that
+     * decided it (every test up to and including the first failing one).
+     */
+    private List<SubmissionTestResult> evaluate(Submission submission, Path workDir)
+            throws IOException, InterruptedException, ExecutionException {
+        LanguageRunner language = languageRunnerRegistry.forLanguage(submission.getLanguage());
+        List<JudgeTestCase> testCases = testDataService.loadTestSet(submission.getProblem());
+        submission.setTotalTestCases(testCases.size());
+        submission.setPassCount(0);
+
+        Files.writeString(workDir.resolve(language.getSourceFileName()), submission.getSourceCode(), StandardCharsets.UTF_8);
+
+        // Phase 1: compile once, the artifacts stay in the work directory for every test run
+        progressPublisher.compiling(submission.getId());
+        try (Sandbox sandbox = sandboxRunner.acquire(workDir, language)) {
+            Process compileProcess = sandbox.compile(language.compileCommand(sandbox.getWorkDir()));
+            ExecutionResult compile = processExecutor.execute(compileProcess, null, COMPILE_TIMEOUT_MILLIS,
+                    output -> {
+                        output.transferTo(Writer.nullWriter());
+                        return true;
+                    });
+            if (compile.isTimedOut() || compile.getExitCode() != 0) {
+                submission.setStatus(SubmissionStatus.COMPILE_ERROR);
+                submission.setCompileOutput(compile.isTimedOut() ? "Compilation timed out" : compile.getStderr());
+                return List.of();
+            }
+            sandbox.saveArtifacts();
+        }
+
+        // Phase 2: run the tests against the compiled artifacts, in parallel
+        TestRun testRun = new TestRun(submission.getId(), workDir, language, submission.getProblem(), testCases);
+        testRun.execute();
+
+        int firstFailure = testRun.firstFailure.get();
+        if (firstFailure < testCases.size()) {
+            submission.setStatus(testRun.verdicts[firstFailure]);
+            submission.setPassCount(firstFailure);
+        } else {
+            submission.setStatus(SubmissionStatus.ACCEPTED);
+            submission.setPassCount(testCases.size());
+        }
+
+        // The submission reports its worst test, like the per-problem limits apply to every test
+        List<SubmissionTestResult> testResults = new ArrayList<>();
+        long maxCpuMillis = 0;
+        Long maxRssKb = null;
+        boolean measured = false;
+        for (int i = 0; i <= Math.min(firstFailure, testCases.size() - 1); i++) {
+            if (testRun.verdicts[i] == null) {
+                continue;
+            }
+            SubmissionTestResult testResult = new SubmissionTestResult();
+            testResult.setSubmission(submission);
+            testResult.setTestCaseId(testCases.get(i).getId());
+            testResult.setTestIndex(i);
+            testResult.setStatus(testRun.verdicts[i]);
+            testResults.add(testResult);
+
+            ResourceMeter.Usage usage = testRun.usages[i];
+            if (usage == null) {
+                continue;
+            }
+            testResult.setCpuTimeMs((int) usage.getCpuTimeMillis());
+            testResult.setWallTimeMs((int) usage.getWallTimeMillis());
+            testResult.setMemoryUsageKb(usage.getPeakRssKb());
+            measured = true;
+            maxCpuMillis = Math.max(maxCpuMillis, usage.getCpuTimeMillis());
+            if (usage.getPeakRssKb() != null) {
+                maxRssKb = Math.max(maxRssKb != null ? maxRssKb : 0L, usage.getPeakRssKb());
+            }
+        }
+        if (measured) {
+            submission.setRuntimeMs((int) maxCpuMillis);
+            submission.setMemoryUsageKb(maxRssKb != null ? maxRssKb.doubleValue() : null);
+        }
+        return testResults;
+    }
+
+    private SubmissionStatus verdictOf(ExecutionResult run, ResourceMeter.Usage usage, long cpuLimitMillis,
+                                       LanguageRunner language) {
+        if (run.isTimedOut()) {
+            return SubmissionStatus.TIME_LIMIT_EXCEEDED;
+        }
+        if (run.isOutputLimitExceeded()) {
+            return SubmissionStatus.OUTPUT_LIMIT_EXCEEDED;
+        }
+        if (run.isStoppedEarly()) {
+            return SubmissionStatus.WRONG_ANSWER;
+        }
+        if (usage.getCpuTimeMillis() > cpuLimitMillis) {
+            return SubmissionStatus.TIME_LIMIT_EXCEEDED;
+        }
+        if (run.getExitCode() != 0) {
+            return isOutOfMemory(run, language) ? SubmissionStatus.MEMORY_LIMIT_EXCEEDED : SubmissionStatus.RUNTIME_ERROR;
+        }
+        return run.isOutputAccepted() ? SubmissionStatus.ACCEPTED : SubmissionStatus.WRONG_ANSWER;
+    }
+
+    /**
+     * Going over the problem's memory limit is either an allocation failure the language reports
+     * (OutOfMemoryError, MemoryError, std::bad_alloc) or, when the container limit is hit first,
+     * a SIGKILL from the OOM killer.
+     */
+    private boolean isOutOfMemory(ExecutionResult run, LanguageRunner language) {
+        String stderr = run.getStderr() != null ? run.getStderr() : "";
+        return run.getExitCode() == 137
+                || language.isOutOfMemory(stderr)
+                || stderr.contains("terminated by signal 9");
+    }
+
+    /**
+     * Fans the tests of one submission out over up to {@code judge.tests.parallelism} workers on the
+     * shared judgeTestExecutor, whose size is the global cap on concurrent runs. Workers take test
+     * indexes in order, so the verdict is always the one of the lowest failing test and passCount
+     * stays deterministic. A failure at index i cancels every run with a higher index.
+     */
+    private class TestRun {
+        private final Long submissionId;
+        private final Path workDir;
+        private final LanguageRunner language;
+        private final Problem problem;
+        private final OutputChecker checker;
+        private final List<JudgeTestCase> testCases;
+        private final SubmissionStatus[] verdicts;
+        private final ResourceMeter.Usage[] usages;
+        private final long cpuLimitMillis;
+        private final int memoryLimitMb;
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final AtomicInteger firstFailure;
+        private int passedPrefix;
+        private final Map<Integer, Process> running = new ConcurrentHashMap<>();
+
+        TestRun(Long submissionId, Path workDir, LanguageRunner language, Problem problem, List<JudgeTestCase> testCases) {
+            this.submissionId = submissionId;
+            this.workDir = workDir;
+            this.language = language;
+            this.problem = problem;
+            this.checker = outputCheckerRegistry.forProblem(problem);
+            this.testCases = testCases;
+            this.verdicts = new SubmissionStatus[testCases.size()];
+            this.usages = new ResourceMeter.Usage[testCases.size()];
+            this.cpuLimitMillis = Math.round(1000 * (problem.getCpuTimeLimit() != null
+                    ? problem.getCpuTimeLimit() : defaultCpuTimeLimit));
+            this.memoryLimitMb = problem.getMemoryLimitMb() != null ? problem.getMemoryLimitMb() : defaultMemoryLimitMb;
+            this.firstFailure = new AtomicInteger(testCases.size());
+        }
+
+        void execute() throws InterruptedException, ExecutionException {
+            int workers = Math.min(testParallelism, testCases.size());
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                boolean required = w == 0;
+                futures.add(judgeTestExecutor.submit(() -> {
+                    work(required);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        private void work(boolean required) throws IOException, InterruptedException {
+            Sandbox sandbox;
+            try {
+                // Extra workers are best effort and only take a sandbox that is free right now, so they never
+                // hold up another submission's compile step or first worker; the first one alone can finish the run
+                sandbox = required ? sandboxRunner.acquire(workDir, language) : sandboxRunner.tryAcquire(workDir, language);
+            } catch (IOException e) {
+                if (required) {
+                    fail(-1);
+                    throw e;
+                }
+                return;
+            }
+            if (sandbox == null) {
+                return;
+            }
+
+            try (sandbox) {
+                List<String> command = ResourceMeter.wrap(language.runCommand(sandbox.getWorkDir(), memoryLimitMb),
+                        cpuLimitMillis);
+                long timeoutMillis = cpuLimitMillis * wallTimeFactor + 1_000;
+                int index;
+                while ((index = nextIndex.getAndIncrement()) < firstFailure.get()) {
+                    JudgeTestCase testCase = testCases.get(index);
+                    InputStream input = testDataStore.openStream(testCase.getInputHash());
+                    long started = System.nanoTime();
+                    Process process = sandbox.run(command);
+                    running.put(index, process);
+                    if (index >= firstFailure.get()) {
+                        process.destroyForcibly();
+                    }
+
+                    ExecutionResult result;
+                    try {
+                        result = processExecutor.execute(process, input, timeoutMillis, output -> checker.check(
+                                testDataStore.openMapped(testCase.getOutputHash()), output, problem));
+                    } catch (IOException e) {
+                        // Destroying a cancelled run closes its streams under the reader
+                        if (index >= firstFailure.get()) {
+                            return;
+                        }
+                        throw e;
+                    } finally {
+                        running.remove(index);
+                    }
+                    if (index >= firstFailure.get()) {
+                        return;
+                    }
+
+                    ResourceMeter.Usage usage = ResourceMeter.measure(result.getStderr(),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                    SubmissionStatus verdict = verdictOf(result, usage, cpuLimitMillis, language);
+                    // A run killed on its first wrong token has no usage worth reporting
+                    usages[index] = result.isStoppedEarly() ? null : usage;
+                    verdicts[index] = verdict;
+                    if (verdict != SubmissionStatus.ACCEPTED) {
+                        fail(index);
+                        return;
+                    }
+                    publishPassed();
+                }
+            } catch (IOException | RuntimeException e) {
+                fail(-1);
+                throw e;
+            }
+        }
+
+        /**
+         * Reports how many tests passed in a row from the first one, so progress never runs
+         * ahead of the passCount the submission ends up with.
+         */
+        private synchronized void publishPassed() {
+            int passed = passedPrefix;
+            while (passed < testCases.size() && verdicts[passed] == SubmissionStatus.ACCEPTED) {
+                passed++;
+            }
+            if (passed > passedPrefix) {
+                passedPrefix = passed;
+                progressPublisher.testPassed(submissionId, passed, testCases.size());
+            }
+        }
+
+        private void fail(int index) {
+            int failed = firstFailure.accumulateAndGet(index, Math::min);
+            running.forEach((runningIndex, process) -> {
+                if (runningIndex > failed) {
+                    process.destroyForcibly();
+                }
+            });
+        }
+    }
+}
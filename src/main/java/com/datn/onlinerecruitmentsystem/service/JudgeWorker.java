@@ -0,0 +1,98 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Judge worker mode: pulls queued submissions from the database and judges them on this node.
+ * Any number of workers can run against the same database; see {@link JudgeQueueService}.
+ * Enabled with judge.worker.enabled=true (the judge-worker profile), together with
+ * judge.queue.mode=database on every node so the API no longer judges in process.
+ */
+@Component
+@ConditionalOnProperty(name = "judge.worker.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class JudgeWorker {
+
+    private final JudgeQueueService judgeQueueService;
+    private final JudgeService judgeService;
+    private final ThreadPoolTaskExecutor judgeExecutor;
+
+    @Value("${judge.worker.concurrency:4}")
+    private int concurrency;
+
+    private final String workerId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Scheduled(fixedDelayString = "${judge.worker.poll-interval-ms:500}")
+    public void poll() {
+        int free = concurrency - inFlight.size();
+        if (free <= 0) {
+            return;
+        }
+
+        List<Long> claimed;
+        try {
+            claimed = judgeQueueService.claim(workerId, free);
+        } catch (Exception e) {
+            System.err.println("Judge worker " + workerId + " could not claim submissions: " + e.getMessage());
+            return;
+        }
+
+        for (Long submissionId : claimed) {
+            inFlight.add(submissionId);
+            try {
+                judgeExecutor.execute(() -> run(submissionId));
+            } catch (TaskRejectedException e) {
+                // The lease runs out and the submission is claimed again
+                inFlight.remove(submissionId);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${judge.worker.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        try {
+            judgeQueueService.renewLeases(workerId, Set.copyOf(inFlight));
+        } catch (Exception e) {
+            System.err.println("Judge worker " + workerId + " could not renew leases: " + e.getMessage());
+        }
+    }
+
+    private void run(Long submissionId) {
+        try {
+            judgeService.judge(submissionId);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            System.err.println("Judge worker " + workerId + " lost the lease on submission " + submissionId
+                    + ", its verdict is dropped");
+        } catch (Exception e) {
+            System.err.println("Judge worker " + workerId + " failed on submission " + submissionId + ": " + e.getMessage());
+        } finally {
+            inFlight.remove(submissionId);
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "judge";
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import com.datn.onlinerecruitmentsystem.dto.response.LeaderboardEntryResponse;
+import com.datn.onlinerecruitmentsystem.entity.Submission;
+import com.datn.onlinerecruitmentsystem.enums.SubmissionStatus;
+import com.datn.onlinerecruitmentsystem.repository.SubmissionRepository;
+import com.datn.onlinerecruitmentsystem.service.judge.ProblemLeaderboard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-problem leaderboards kept in memory: loaded from the accepted submissions at startup, then updated
+ * by the judge as verdicts come in, so a view never queries the submissions table. Each node keeps the
+ * leaderboards of the verdicts it judged itself on top of what it loaded at startup.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    private final SubmissionRepository submissionRepository;
+
+    @Value("${leaderboard.rebuild.page-size:1000}")
+    private int rebuildPageSize;
+
+    @Value("${leaderboard.max-limit:100}")
+    private int maxLimit;
+
+    private final Map<Long, ProblemLeaderboard> leaderboards = new ConcurrentHashMap<>();
+
+    /**
+     * Loads every accepted submission, one page at a time. Offered straight into the live leaderboards,
+     * so verdicts that arrive meanwhile are kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        long afterId = 0;
+        long loaded = 0;
+        try {
+            List<SubmissionRepository.AcceptedRef> page;
+            do {
+                page = submissionRepository.findAcceptedRefs(afterId, PageRequest.of(0, rebuildPageSize));
+                for (SubmissionRepository.AcceptedRef ref : page) {
+                    afterId = ref.getId();
+                    leaderboard(ref.getProblemId()).offer(toEntry(ref));
+                }
+                loaded += page.size();
+            } while (page.size() == rebuildPageSize);
+            System.out.println("Loaded leaderboards of " + leaderboards.size() + " problems from " + loaded
+                    + " accepted submissions in " + (System.currentTimeMillis() - started) + " ms");
+        } catch (RuntimeException e) {
+            System.err.println("Could not load the leaderboards: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Takes a new verdict into account. Called by the judge after the verdict is saved; a failure here
+     * is logged and never affects the verdict.
+     */
+    public void onVerdict(Submission submission) {
+        if (submission.getUser() == null || submission.getProblem() == null) {
+            return;
+        }
+        try {
+            Long userId = submission.getUser().getId();
+            ProblemLeaderboard leaderboard = leaderboard(submission.getProblem().getId());
+            ProblemLeaderboard.Entry current = leaderboard.get(userId);
+            if (current != null && current.getSubmissionId().equals(submission.getId())) {
+                // A rejudge changed the verdict or runtime of the user's best submission, the next best may be another one
+                List<SubmissionRepository.AcceptedRef> best = submissionRepository.findBestAccepted(
+                        submission.getProblem().getId(), userId, PageRequest.of(0, 1));
+                leaderboard.replace(userId, best.isEmpty() ? null : toEntry(best.get(0)));
+            } else if (submission.getStatus() == SubmissionStatus.ACCEPTED) {
+                leaderboard.offer(new ProblemLeaderboard.Entry(userId, submission.getUser().getFullName(),
+                        submission.getId(), submission.getRuntimeMs(), submission.getCreatedAt()));
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Could not update the leaderboard for submission " + submission.getId()
+                    + ": " + e.getMessage());
+        }
+    }
+
+    public List<LeaderboardEntryResponse> getTop(Long problemId, int limit) {
+        ProblemLeaderboard leaderboard = leaderboards.get(problemId);
+        if (leaderboard == null) {
+            return List.of();
+        }
+        List<ProblemLeaderboard.Entry> entries = leaderboard.top(Math.min(Math.max(limit, 1), maxLimit));
+        List<LeaderboardEntryResponse> result = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            result.add(toResponse(i + 1, entries.get(i)));
+        }
+        return result;
+    }
+
+    public LeaderboardEntryResponse getRank(Long problemId, Long userId) {
+        ProblemLeaderboard leaderboard = leaderboards.get(problemId);
+        ProblemLeaderboard.Entry entry = leaderboard != null ? leaderboard.get(userId) : null;
+        if (entry == null) {
+            throw new RuntimeException("User " + userId + " has no accepted submission for problem " + problemId);
+        }
+        return toResponse(leaderboard.rankOf(userId), entry);
+    }
+
+    private ProblemLeaderboard leaderboard(Long problemId) {
+        return leaderboards.computeIfAbsent(problemId, id -> new ProblemLeaderboard());
+    }
+
+    private static ProblemLeaderboard.Entry toEntry(SubmissionRepository.AcceptedRef ref) {
+        return new ProblemLeaderboard.Entry(ref.getUserId(), ref.getUserName(), ref.getId(),
+                ref.getRuntimeMs(), ref.getCreatedAt());
+    }
+
+    private static LeaderboardEntryResponse toResponse(int rank, ProblemLeaderboard.Entry entry) {
+        LeaderboardEntryResponse response = new LeaderboardEntryResponse();
+        response.setRank(rank);
+        response.setUserId(entry.getUserId());
+        response.setUserName(entry.getUserName());
+        response.setSubmissionId(entry.getSubmissionId());
+        response.setRuntimeMs(entry.getRuntimeMs());
+        response.setAcceptedAt(entry.getAcceptedAt());
+        return response;
+    }
+}
@@ -1,16 +1,38 @@
 package com.datn.onlinerecruitmentsystem.service;
 
 import com.datn.onlinerecruitmentsystem.dto.ProblemDTO;
+import com.datn.onlinerecruitmentsystem.dto.TestCaseDTO;
+import com.datn.onlinerecruitmentsystem.dto.response.PageResponse;
+import com.datn.onlinerecruitmentsystem.entity.CatalogVersion;
 import com.datn.onlinerecruitmentsystem.entity.Problem;
 import com.datn.onlinerecruitmentsystem.entity.TestCase;
+import com.datn.onlinerecruitmentsystem.enums.CheckerType;
+import com.datn.onlinerecruitmentsystem.enums.Difficulty;
+import com.datn.onlinerecruitmentsystem.repository.CatalogVersionRepository;
 import com.datn.onlinerecruitmentsystem.repository.ProblemRepository;
 import com.datn.onlinerecruitmentsystem.repository.TestCaseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,6 +41,13 @@ public class ProblemService {
 
     private final ProblemRepository problemRepository;
     private final TestCaseRepository testCaseRepository;
+    private final TestDataService testDataService;
+    private final CatalogVersionRepository catalogVersionRepository;
+
+    private static final int CATALOG_VERSION_ID = 1;
+
+    // This node's copy of the catalog_version row, which changes whenever a problem is created or edited
+    private final AtomicLong catalogVersion = new AtomicLong();
 
     private String generateSlug(String title) {
         if (title == null || title.trim().isEmpty()) {
@@ -30,8 +59,66 @@ public class ProblemService {
         return slug;
     }
 
-    public List<Problem> getAllProblems() {
-        return problemRepository.findAll();
+    /**
+     * One page of the public catalog, filtered by difficulty and by a keyword matched against title and slug.
+     */
+    public PageResponse<ProblemRepository.ProblemSummary> getCatalog(Difficulty difficulty, String keyword,
+                                                                    Pageable pageable) {
+        String pattern = keyword == null || keyword.isBlank() ? null
+                : "%" + keyword.trim().toLowerCase(Locale.ROOT).replaceAll("([\\\\%_])", "\\\\$1") + "%";
+        Page<ProblemRepository.ProblemSummary> page = problemRepository.findSummaries(difficulty, pattern, pageable);
+
+        return PageResponse.<ProblemRepository.ProblemSummary>builder()
+                .content(page.getContent())
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .first(page.isFirst())
+                .last(page.isLast())
+                .build();
+    }
+
+    /**
+     * Version of the catalog, the base of the catalog ETags. Edits made on other nodes show up here within
+     * {@code problems.catalog.version-poll-ms}.
+     */
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    /**
+     * Creates the catalog_version row on first start, from the clock so it never repeats an ETag served
+     * before the row existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initCatalogVersion() {
+        try {
+            if (catalogVersionRepository.findVersion(CATALOG_VERSION_ID).isEmpty()) {
+                CatalogVersion row = new CatalogVersion();
+                row.setId(CATALOG_VERSION_ID);
+                row.setVersion(System.currentTimeMillis());
+                catalogVersionRepository.save(row);
+            }
+        } catch (RuntimeException e) {
+            // Another node created it first
+            System.err.println("Could not create the catalog version: " + e.getMessage());
+        }
+        refreshCatalogVersion();
+    }
+
+    @Scheduled(fixedDelayString = "${problems.catalog.version-poll-ms:1000}")
+    public void refreshCatalogVersion() {
+        try {
+            catalogVersionRepository.findVersion(CATALOG_VERSION_ID).ifPresent(this::advanceCatalogVersion);
+        } catch (RuntimeException e) {
+            System.err.println("Could not read the catalog version: " + e.getMessage());
+        }
+    }
+
+    // Never moves back, so a poll that read the row just before an edit committed cannot undo it
+    private void advanceCatalogVersion(long version) {
+        catalogVersion.accumulateAndGet(version, Math::max);
     }
 
     public Problem getProblemBySlug(String slug) {
@@ -39,6 +126,32 @@ public class ProblemService {
                 .orElseThrow(() -> new RuntimeException("Problem not found with slug: " + slug));
     }
 
+    /**
+     * All test cases of a problem with their ids, for the edit form to send back.
+     */
+    public List<TestCaseDTO> getTestCases(Long problemId) {
+        return testCaseRepository.findByProblemId(problemId).stream().map(tc -> {
+            TestCaseDTO dto = new TestCaseDTO();
+            dto.setId(tc.getId());
+            dto.setInput(tc.getInputData());
+            dto.setOutput(tc.getExpectedOutput());
+            dto.setHidden(tc.isHidden());
+            return dto;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Test case ids used to be AUTO_INCREMENT; keeps the sequence that replaced it from handing out one of them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void alignTestCaseIdSequence() {
+        try {
+            testCaseRepository.alignIdSequence(TestCase.ID_ALLOCATION_SIZE);
+        } catch (RuntimeException e) {
+            System.err.println("Could not align the test case id sequence: " + e.getMessage());
+        }
+    }
+
     @Transactional
     public Problem createProblem(ProblemDTO dto) {
         Problem problem = new Problem();
@@ -49,8 +162,11 @@ public class ProblemService {
         problem.setCpuTimeLimit(dto.getCpuTimeLimit());
         problem.setMemoryLimitMb(dto.getMemoryLimitMb());
         problem.setTemplateCode(dto.getTemplateCode());
+        problem.setCheckerType(dto.getCheckerType() != null ? CheckerType.valueOf(dto.getCheckerType()) : null);
+        problem.setCheckerTolerance(dto.getCheckerTolerance());
 
         Problem savedProblem = problemRepository.save(problem);
+        bumpCatalogVersion();
 
         if (dto.getTestCases() != null && !dto.getTestCases().isEmpty()) {
             List<TestCase> testCases = dto.getTestCases().stream().map(tcDto -> {
@@ -62,6 +178,7 @@ public class ProblemService {
                 tc.setHidden(tcDto.isHidden());
 
                 tc.setProblem(savedProblem);
+                testDataService.storeTestData(tc);
                 return tc;
             }).collect(Collectors.toList());
             testCaseRepository.saveAll(testCases);
@@ -75,6 +192,13 @@ public class ProblemService {
         Problem existingProblem = problemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Problem not found with id: " + id));
 
+        CheckerType checkerType = dto.getCheckerType() != null ? CheckerType.valueOf(dto.getCheckerType()) : null;
+        // The limits and the checker decide verdicts as much as the test data does
+        boolean judgingChanged = !Objects.equals(existingProblem.getCpuTimeLimit(), dto.getCpuTimeLimit())
+                || !Objects.equals(existingProblem.getMemoryLimitMb(), dto.getMemoryLimitMb())
+                || existingProblem.getCheckerType() != checkerType
+                || !Objects.equals(existingProblem.getCheckerTolerance(), dto.getCheckerTolerance());
+
         existingProblem.setTitle(dto.getTitle());
         // existingProblem.setSlug(generateSlug(dto.getTitle())); // Tùy chọn update slug
         existingProblem.setDescription(dto.getDescription());
@@ -82,22 +206,142 @@ public class ProblemService {
         existingProblem.setCpuTimeLimit(dto.getCpuTimeLimit());
         existingProblem.setMemoryLimitMb(dto.getMemoryLimitMb());
         existingProblem.setTemplateCode(dto.getTemplateCode());
+        existingProblem.setCheckerType(checkerType);
+        existingProblem.setCheckerTolerance(dto.getCheckerTolerance());
 
-        testCaseRepository.deleteAllByProblemId(id);
+        // Without test cases in the request the existing ones stay as they are. A new version keeps the verdict
+        // cache (keyed by it, see SourceHasher) from serving verdicts judged under the old tests, limits or checker
+        boolean testsChanged = dto.getTestCases() != null && syncTestCases(existingProblem, dto.getTestCases());
+        if (testsChanged || judgingChanged) {
+            long version = existingProblem.getTestSetVersion() != null ? existingProblem.getTestSetVersion() : 0L;
+            existingProblem.setTestSetVersion(version + 1);
+        }
 
-        if (dto.getTestCases() != null && !dto.getTestCases().isEmpty()) {
-            List<TestCase> newTestCases = dto.getTestCases().stream().map(tcDto -> {
-                TestCase tc = new TestCase();
+        bumpCatalogVersion();
+        return problemRepository.save(existingProblem);
+    }
+
+    /**
+     * Bumps the shared catalog version in the caller's transaction, so other nodes see it when the edit commits.
+     * The row lock it takes serializes problem edits, which are rare. This node serves the new version once the
+     * transaction commits; serving it earlier would let a concurrent read cache the old rows under it.
+     */
+    private void bumpCatalogVersion() {
+        if (catalogVersionRepository.increment(CATALOG_VERSION_ID) == 0) {
+            return;
+        }
+        long version = catalogVersionRepository.findVersion(CATALOG_VERSION_ID).orElseThrow();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advanceCatalogVersion(version);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                advanceCatalogVersion(version);
+            }
+        });
+    }
+
+    /**
+     * Brings the problem's test cases in line with the submitted list, touching only the rows that changed.
+     * A submitted case matches an existing row by id or, when it has none, by identical content, so a client
+     * that sends the full list back unchanged causes no writes. Returns whether anything changed.
+     */
+    private boolean syncTestCases(Problem problem, List<TestCaseDTO> submitted) {
+        Map<Long, TestCaseRepository.DataRef> existing = new LinkedHashMap<>();
+        for (TestCaseRepository.DataRef ref : testCaseRepository.findDataRefsByProblemId(problem.getId())) {
+            existing.put(ref.getId(), ref);
+        }
+
+        // Hashes and blobs of the submitted content; the blobs are needed anyway for whatever gets saved
+        List<TestCase> incoming = new ArrayList<>();
+        Set<Long> claimedIds = new HashSet<>();
+        for (TestCaseDTO tcDto : submitted) {
+            TestCase tc = new TestCase();
+            // Ids of other problems' cases, or sent twice, are treated as new cases
+            Long id = tcDto.getId();
+            tc.setId(id != null && existing.containsKey(id) && claimedIds.add(id) ? id : null);
+            tc.setHidden(tcDto.isHidden());
+            tc.setProblem(problem);
+            if (tc.getId() != null && (tcDto.getInput() == null || tcDto.getOutput() == null)) {
+                // Store-only data (imported, too large to edit inline) comes back empty and is left as it is
+                TestCaseRepository.DataRef ref = existing.get(tc.getId());
+                tc.setInputHash(ref.getInputHash());
+                tc.setOutputHash(ref.getOutputHash());
+                tc.setInputData(null);
+                tc.setExpectedOutput(null);
+            } else {
                 tc.setInputData(tcDto.getInput());
                 tc.setExpectedOutput(tcDto.getOutput());
-                tc.setHidden(tcDto.isHidden());
-                tc.setProblem(existingProblem);
-                return tc;
-            }).collect(Collectors.toList());
+                testDataService.storeTestData(tc);
+            }
+            incoming.add(tc);
+        }
 
-            testCaseRepository.saveAll(newTestCases);
+        Map<String, List<Long>> unclaimedByContent = new HashMap<>();
+        for (TestCaseRepository.DataRef ref : existing.values()) {
+            unclaimedByContent.computeIfAbsent(contentKey(ref.getInputHash(), ref.getOutputHash(), ref.isHidden()),
+                    key -> new ArrayList<>()).add(ref.getId());
+        }
+        for (TestCase tc : incoming) {
+            if (tc.getId() != null) {
+                TestCaseRepository.DataRef ref = existing.get(tc.getId());
+                List<Long> ids = unclaimedByContent.get(contentKey(ref.getInputHash(), ref.getOutputHash(), ref.isHidden()));
+                ids.remove(tc.getId());
+            }
         }
 
-        return problemRepository.save(existingProblem);
+        Map<Long, TestCase> updates = new HashMap<>();
+        List<TestCase> inserts = new ArrayList<>();
+        List<Long> kept = new ArrayList<>();
+        for (TestCase tc : incoming) {
+            if (tc.getId() == null) {
+                List<Long> sameContent = unclaimedByContent.get(contentKey(tc.getInputHash(), tc.getOutputHash(), tc.isHidden()));
+                if (sameContent != null && !sameContent.isEmpty()) {
+                    kept.add(sameContent.remove(0));
+                } else {
+                    inserts.add(tc);
+                }
+                continue;
+            }
+            TestCaseRepository.DataRef ref = existing.get(tc.getId());
+            kept.add(tc.getId());
+            if (!Objects.equals(ref.getInputHash(), tc.getInputHash())
+                    || !Objects.equals(ref.getOutputHash(), tc.getOutputHash())
+                    || ref.isHidden() != tc.isHidden()) {
+                updates.put(tc.getId(), tc);
+            }
+        }
+
+        List<Long> deletes = new ArrayList<>(existing.keySet());
+        deletes.removeAll(kept);
+
+        if (!deletes.isEmpty()) {
+            testCaseRepository.deleteAllByIdInBatch(deletes);
+        }
+        if (!updates.isEmpty()) {
+            List<TestCase> rows = testCaseRepository.findAllById(updates.keySet());
+            for (TestCase row : rows) {
+                TestCase tc = updates.get(row.getId());
+                if (!Objects.equals(row.getInputHash(), tc.getInputHash())
+                        || !Objects.equals(row.getOutputHash(), tc.getOutputHash())) {
+                    row.setInputData(tc.getInputData());
+                    row.setExpectedOutput(tc.getExpectedOutput());
+                    row.setInputHash(tc.getInputHash());
+                    row.setOutputHash(tc.getOutputHash());
+                }
+                row.setHidden(tc.isHidden());
+            }
+            testCaseRepository.saveAll(rows);
+        }
+        if (!inserts.isEmpty()) {
+            testCaseRepository.saveAll(inserts);
+        }
+        return !deletes.isEmpty() || !updates.isEmpty() || !inserts.isEmpty();
+    }
+
+    private static String contentKey(String inputHash, String outputHash, boolean hidden) {
+        return inputHash + ':' + outputHash + ':' + hidden;
     }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import com.datn.onlinerecruitmentsystem.dto.response.ProblemStatsResponse;
+import com.datn.onlinerecruitmentsystem.entity.ProblemVerdictCount;
+import com.datn.onlinerecruitmentsystem.enums.SubmissionStatus;
+import com.datn.onlinerecruitmentsystem.repository.ProblemVerdictCountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verdict counts per problem. The judge adds to in-memory {@link LongAdder}s, which never contend, and
+ * the counts are added to the problem_verdict_counts rollup every {@code judge.stats.flush-interval-ms};
+ * statistics are read from the rollup only, never from the submissions table.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProblemStatsService {
+
+    private final ProblemVerdictCountRepository problemVerdictCountRepository;
+
+    private final Map<Key, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Counts a verdict. {@code previous} is the verdict the submission had before, when it is rejudged,
+     * and is taken back so a submission is only ever counted once.
+     */
+    public void onVerdict(Long problemId, SubmissionStatus previous, SubmissionStatus verdict) {
+        if (problemId == null || previous == verdict) {
+            return;
+        }
+        if (isFinal(previous)) {
+            pending.computeIfAbsent(new Key(problemId, previous), key -> new LongAdder()).decrement();
+        }
+        if (isFinal(verdict)) {
+            pending.computeIfAbsent(new Key(problemId, verdict), key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Adds the counts gathered since the last flush to the rollup. A count is only taken out of its adder
+     * once it is written, so verdicts added meanwhile or a failed write are carried to the next flush.
+     */
+    @Scheduled(fixedDelayString = "${judge.stats.flush-interval-ms:10000}")
+    public void flush() {
+        for (Map.Entry<Key, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sum();
+            if (delta == 0) {
+                continue;
+            }
+            try {
+                problemVerdictCountRepository.addToTotal(entry.getKey().problemId, entry.getKey().status.name(), delta);
+                entry.getValue().add(-delta);
+            } catch (RuntimeException e) {
+                System.err.println("Could not flush verdict counts of problem " + entry.getKey().problemId
+                        + ": " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Fills an empty rollup from the submissions table. Runs before this bean is handed to the judge, so no
+     * verdict is counted both in memory and by the seed. A second node seeding at the same time waits on the
+     * first one's rows and leaves them as they are.
+     */
+    @PostConstruct
+    public void seedIfEmpty() {
+        try {
+            if (problemVerdictCountRepository.count() == 0) {
+                int rows = problemVerdictCountRepository.seedFromSubmissions();
+                System.out.println("Seeded " + rows + " problem verdict counts from the submissions table");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Could not seed the problem verdict counts: " + e.getMessage());
+        }
+    }
+
+    public ProblemStatsResponse getStats(Long problemId) {
+        Map<String, Long> verdicts = new TreeMap<>();
+        long attempts = 0;
+        long accepted = 0;
+        for (ProblemVerdictCount count : problemVerdictCountRepository.findByProblemId(problemId)) {
+            verdicts.put(count.getStatus().name(), count.getTotal());
+            if (count.getStatus() != SubmissionStatus.SYSTEM_ERROR) {
+                attempts += count.getTotal();
+            }
+            if (count.getStatus() == SubmissionStatus.ACCEPTED) {
+                accepted = count.getTotal();
+            }
+        }
+
+        ProblemStatsResponse response = new ProblemStatsResponse();
+        response.setProblemId(problemId);
+        response.setAttempts(attempts);
+        response.setAccepted(accepted);
+        response.setAcceptanceRate(attempts > 0 ? (double) accepted / attempts : 0);
+        response.setVerdicts(verdicts);
+        return response;
+    }
+
+    private static boolean isFinal(SubmissionStatus status) {
+        return status != null && status != SubmissionStatus.PENDING && status != SubmissionStatus.RUNNING;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final Long problemId;
+        private final SubmissionStatus status;
+    }
+}
@@ -0,0 +1,215 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import com.datn.onlinerecruitmentsystem.entity.Submission;
+import com.datn.onlinerecruitmentsystem.enums.SubmissionStatus;
+import com.datn.onlinerecruitmentsystem.repository.ProblemRepository;
+import com.datn.onlinerecruitmentsystem.repository.SubmissionRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin-triggered rejudge of every judged submission of a problem, typically after its tests changed.
+ * A job walks the submissions in id order, one page at a time, and judges them one by one at no more
+ * than {@code judge.rejudge.max-per-second}; it waits whenever live submissions are queued, so it only
+ * uses judge capacity that live traffic leaves idle. With judge.queue.mode=database a submission is put
+ * back in the queue for the judge workers instead, and the job waits for its new verdict. Jobs run one at
+ * a time and are kept in memory on the node that runs them.
+ */
+@Service
+@RequiredArgsConstructor
+public class RejudgeService {
+
+    private static final Set<SubmissionStatus> JUDGED_STATUSES = EnumSet.complementOf(
+            EnumSet.of(SubmissionStatus.PENDING, SubmissionStatus.RUNNING));
+
+    private final SubmissionRepository submissionRepository;
+    private final ProblemRepository problemRepository;
+    private final JudgeService judgeService;
+    private final JudgeQueueService judgeQueueService;
+    private final ProblemStatsService problemStatsService;
+    private final ThreadPoolTaskExecutor judgeExecutor;
+    private final ThreadPoolTaskExecutor rejudgeExecutor;
+
+    @Value("${judge.rejudge.page-size:50}")
+    private int pageSize;
+
+    @Value("${judge.rejudge.max-per-second:2.0}")
+    private double maxPerSecond;
+
+    @Value("${judge.queue.mode:local}")
+    private String queueMode;
+
+    private final Map<String, RejudgeJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Starts a rejudge of the problem, or returns the one already running for it.
+     */
+    public synchronized RejudgeJob startRejudge(Long problemId) {
+        problemRepository.findById(problemId)
+                .orElseThrow(() -> new RuntimeException("Problem not found with id: " + problemId));
+        for (RejudgeJob job : jobs.values()) {
+            if (job.getProblemId().equals(problemId) && job.getFinishedAt() == null) {
+                return job;
+            }
+        }
+
+        // Submissions made after this point are judged on the current tests anyway
+        Long maxId = submissionRepository.findMaxIdByProblemId(problemId);
+        RejudgeJob job = new RejudgeJob(UUID.randomUUID().toString(), problemId);
+        job.total = maxId != null ? submissionRepository.countByProblemIdAndIdLessThanEqualAndStatusIn(
+                problemId, maxId, JUDGED_STATUSES) : 0;
+        rejudgeExecutor.execute(() -> run(job, maxId != null ? maxId : 0L));
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    public RejudgeJob getJob(String jobId) {
+        RejudgeJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Rejudge job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    public List<RejudgeJob> getJobs() {
+        return List.copyOf(jobs.values());
+    }
+
+    public RejudgeJob cancel(String jobId) {
+        RejudgeJob job = getJob(jobId);
+        job.cancelRequested = true;
+        return job;
+    }
+
+    private void run(RejudgeJob job, long maxId) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / maxPerSecond);
+        long nextStart = System.nanoTime();
+        long afterId = 0;
+        job.status = RejudgeJob.Status.RUNNING;
+        try {
+            List<SubmissionRepository.VerdictRef> page;
+            do {
+                page = submissionRepository.findVerdictRefs(job.getProblemId(), afterId, maxId, JUDGED_STATUSES,
+                        PageRequest.of(0, pageSize));
+                for (SubmissionRepository.VerdictRef ref : page) {
+                    afterId = ref.getId();
+                    if (job.cancelRequested) {
+                        job.finish(RejudgeJob.Status.CANCELLED);
+                        return;
+                    }
+
+                    waitForIdleJudge();
+                    long now = System.nanoTime();
+                    if (nextStart > now) {
+                        TimeUnit.NANOSECONDS.sleep(nextStart - now);
+                    }
+                    nextStart = System.nanoTime() + intervalNanos;
+
+                    try {
+                        if ("database".equals(queueMode)) {
+                            if (!requeueAndWait(job, ref.getId())) {
+                                job.finish(RejudgeJob.Status.CANCELLED);
+                                return;
+                            }
+                        } else {
+                            Submission rejudged = judgeService.judge(ref.getId());
+                            job.record(ref.getStatus(), rejudged.getStatus());
+                        }
+                    } catch (RuntimeException e) {
+                        System.err.println("Rejudge of submission " + ref.getId() + " failed: " + e.getMessage());
+                        job.failed++;
+                    }
+                }
+            } while (page.size() == pageSize);
+            job.finish(RejudgeJob.Status.COMPLETED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(RejudgeJob.Status.CANCELLED);
+        } catch (Exception e) {
+            System.err.println("Rejudge job " + job.getId() + " failed: " + e.getMessage());
+            job.finish(RejudgeJob.Status.FAILED);
+        }
+    }
+
+    /**
+     * Queues the submission for the judge workers and records its verdict once one of them saved it.
+     * Returns false when the job is cancelled meanwhile; the submission is still judged then.
+     */
+    private boolean requeueAndWait(RejudgeJob job, Long submissionId) throws InterruptedException {
+        SubmissionStatus previous = judgeQueueService.requeue(submissionId);
+        if (previous == null) {
+            throw new RuntimeException("submission is already queued or being judged");
+        }
+        // The worker sees the submission as queued, so the old verdict is taken back here
+        problemStatsService.onVerdict(job.getProblemId(), previous, SubmissionStatus.PENDING);
+        while (true) {
+            TimeUnit.SECONDS.sleep(1);
+            SubmissionStatus status = submissionRepository.findById(submissionId)
+                    .orElseThrow(() -> new RuntimeException("Submission not found")).getStatus();
+            if (JUDGED_STATUSES.contains(status)) {
+                job.record(previous, status);
+                return true;
+            }
+            if (job.cancelRequested) {
+                return false;
+            }
+        }
+    }
+
+    private void waitForIdleJudge() throws InterruptedException {
+        while (judgeExecutor.getThreadPoolExecutor().getQueue().size() > 0
+                || ("database".equals(queueMode) && submissionRepository.countByStatus(SubmissionStatus.PENDING) > 0)) {
+            TimeUnit.SECONDS.sleep(1);
+        }
+    }
+
+    @Getter
+    public static class RejudgeJob {
+
+        public enum Status { QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED }
+
+        private final String id;
+        private final Long problemId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile Status status = Status.QUEUED;
+        private volatile long total;
+        private volatile long processed;
+        private volatile long changed;
+        private volatile long failed;
+        /** How many verdicts went from one status to another, keyed "OLD->NEW". */
+        private final Map<String, Long> verdictChanges = new ConcurrentHashMap<>();
+        private volatile boolean cancelRequested;
+
+        RejudgeJob(String id, Long problemId) {
+            this.id = id;
+            this.problemId = problemId;
+        }
+
+        private synchronized void record(SubmissionStatus before, SubmissionStatus after) {
+            processed++;
+            if (before != after) {
+                changed++;
+                verdictChanges.merge(before + "->" + after, 1L, Long::sum);
+            }
+        }
+
+        private void finish(Status status) {
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import com.datn.onlinerecruitmentsystem.dto.SubmissionDTO;
+import com.datn.onlinerecruitmentsystem.dto.response.SampleRunResponse;
+import com.datn.onlinerecruitmentsystem.entity.Problem;
+import com.datn.onlinerecruitmentsystem.entity.TestCase;
+import com.datn.onlinerecruitmentsystem.enums.SubmissionStatus;
+import com.datn.onlinerecruitmentsystem.repository.ProblemRepository;
+import com.datn.onlinerecruitmentsystem.repository.TestCaseRepository;
+import com.datn.onlinerecruitmentsystem.service.judge.JavaLanguageRunner;
+import com.datn.onlinerecruitmentsystem.service.judge.LanguageRunnerRegistry;
+import com.datn.onlinerecruitmentsystem.service.judge.OutputChecker;
+import com.datn.onlinerecruitmentsystem.service.judge.OutputCheckerRegistry;
+import com.datn.onlinerecruitmentsystem.service.judge.SampleRunnerPool;
+import com.datn.onlinerecruitmentsystem.service.judge.SampleRunnerWorker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * "Run" button: checks code against the visible test cases only, on the warm sample runner pool
+ * instead of the judge. Nothing is saved, the official verdict still comes from a submission.
+ */
+@Service
+@RequiredArgsConstructor
+public class SampleRunService {
+
+    private final ProblemRepository problemRepository;
+    private final TestCaseRepository testCaseRepository;
+    private final SampleRunnerPool sampleRunnerPool;
+    private final OutputCheckerRegistry outputCheckerRegistry;
+    private final LanguageRunnerRegistry languageRunnerRegistry;
+
+    @Value("${judge.run.default-cpu-time-limit:2.0}")
+    private double defaultCpuTimeLimit;
+
+    @Value("${judge.samples.max-output-bytes:1048576}")
+    private int maxOutputBytes;
+
+    public SampleRunResponse runSamples(SubmissionDTO dto) throws IOException, InterruptedException {
+        // The warm workers compile in memory with the JDK compiler, other languages go through a submission
+        if (!(languageRunnerRegistry.forLanguage(dto.getLanguage()) instanceof JavaLanguageRunner)) {
+            throw new IllegalArgumentException("Running samples is only supported for Java");
+        }
+        Problem problem = problemRepository.findById(dto.getProblemId())
+                .orElseThrow(() -> new RuntimeException("Problem not found"));
+        List<TestCase> samples = testCaseRepository.findSamplesByProblemId(problem.getId());
+        int timeLimitMillis = (int) Math.round(1000 * (problem.getCpuTimeLimit() != null
+                ? problem.getCpuTimeLimit() : defaultCpuTimeLimit));
+
+        SampleRunnerPool.Result result = sampleRunnerPool.run(dto.getSourceCode(),
+                samples.stream().map(TestCase::getInputData).toList(), timeLimitMillis, maxOutputBytes);
+
+        SampleRunResponse response = new SampleRunResponse();
+        if (!result.isCompiled()) {
+            response.setStatus(SubmissionStatus.COMPILE_ERROR.name());
+            response.setCompileOutput(result.getCompileOutput());
+            return response;
+        }
+
+        OutputChecker checker = outputCheckerRegistry.forProblem(problem);
+        String status = SubmissionStatus.ACCEPTED.name();
+        for (int i = 0; i < samples.size(); i++) {
+            TestCase sample = samples.get(i);
+            SampleRunnerPool.TestOutput output = result.getTests().get(i);
+
+            SampleRunResponse.SampleTestResult test = new SampleRunResponse.SampleTestResult();
+            test.setTestCaseId(sample.getId());
+            test.setInput(sample.getInputData());
+            test.setExpectedOutput(sample.getExpectedOutput());
+            test.setActualOutput(output.getStdout());
+            test.setStderr(output.getStderr());
+            test.setRuntimeMs(output.getCpuMillis());
+            test.setStatus(statusOf(output, sample, checker, problem));
+            response.getTests().add(test);
+
+            if (SubmissionStatus.ACCEPTED.name().equals(status) && !SubmissionStatus.ACCEPTED.name().equals(test.getStatus())) {
+                status = test.getStatus();
+            }
+        }
+        response.setStatus(status);
+        return response;
+    }
+
+    private String statusOf(SampleRunnerPool.TestOutput output, TestCase sample, OutputChecker checker, Problem problem)
+            throws IOException {
+        switch (output.getStatus()) {
+            case SampleRunnerWorker.OK:
+                boolean accepted = checker.check(new StringReader(sample.getExpectedOutput()),
+                        new StringReader(output.getStdout()), problem);
+                return (accepted ? SubmissionStatus.ACCEPTED : SubmissionStatus.WRONG_ANSWER).name();
+            case SampleRunnerWorker.RUNTIME_ERROR:
+                return SubmissionStatus.RUNTIME_ERROR.name();
+            case SampleRunnerWorker.TIME_LIMIT_EXCEEDED:
+                return SubmissionStatus.TIME_LIMIT_EXCEEDED.name();
+            case SampleRunnerWorker.MEMORY_LIMIT_EXCEEDED:
+                return SubmissionStatus.MEMORY_LIMIT_EXCEEDED.name();
+            case SampleRunnerWorker.OUTPUT_LIMIT_EXCEEDED:
+                return SubmissionStatus.OUTPUT_LIMIT_EXCEEDED.name();
+            default:
+                return "SKIPPED";
+        }
+    }
+}
@@ -2,26 +2,66 @@ package com.datn.onlinerecruitmentsystem.service;
 
 import com.datn.onlinerecruitmentsystem.dto.SubmissionDTO;
 import com.datn.onlinerecruitmentsystem.entity.*;
+import com.datn.onlinerecruitmentsystem.enums.SubmissionStatus;
+import com.datn.onlinerecruitmentsystem.exception.JudgeQueueFullException;
 import com.datn.onlinerecruitmentsystem.repository.*;
+import com.datn.onlinerecruitmentsystem.service.judge.JudgeProgressPublisher;
+import com.datn.onlinerecruitmentsystem.service.judge.JudgeTask;
+import com.datn.onlinerecruitmentsystem.service.judge.LanguageRunnerRegistry;
+import com.datn.onlinerecruitmentsystem.service.judge.SourceHasher;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
-import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class SubmissionService {
 
+    // Verdicts that only depend on the code and the tests; SYSTEM_ERROR is the judge's fault and is retried
+    private static final Set<SubmissionStatus> CACHEABLE_STATUSES = EnumSet.of(
+            SubmissionStatus.ACCEPTED, SubmissionStatus.WRONG_ANSWER, SubmissionStatus.COMPILE_ERROR,
+            SubmissionStatus.RUNTIME_ERROR, SubmissionStatus.TIME_LIMIT_EXCEEDED,
+            SubmissionStatus.MEMORY_LIMIT_EXCEEDED, SubmissionStatus.OUTPUT_LIMIT_EXCEEDED);
+
     private final SubmissionRepository submissionRepository;
+    private final SubmissionTestResultRepository submissionTestResultRepository;
     private final ProblemRepository problemRepository;
     private final UserRepository userRepository;
-    private final TestCaseRepository testCaseRepository;
-
-    public Submission submitCode(SubmissionDTO dto) throws Exception {
+    private final JudgeService judgeService;
+    private final ThreadPoolTaskExecutor judgeExecutor;
+    private final JudgeProgressPublisher progressPublisher;
+    private final LanguageRunnerRegistry languageRunnerRegistry;
+    private final AssessmentSessionService assessmentSessionService;
+    private final LeaderboardService leaderboardService;
+    private final ProblemStatsService problemStatsService;
+
+    // local: judge on this node's executor; database: leave the row PENDING for the judge workers
+    @Value("${judge.queue.mode:local}")
+    private String queueMode;
+
+    @Value("${judge.queue.max-pending:1000}")
+    private long maxPending;
+
+    // Queue slots only assessment submissions may take, in either queue mode
+    @Value("${judge.queue.assessment-reserved:20}")
+    private long assessmentReserved;
+
+    /**
+     * Saves the submission as PENDING and hands it to the judge executor.
+     * Returns immediately; clients follow /topic/submissions/{id} (or poll {@link #getSubmission(Long)}) for the verdict.
+     * Code already judged on the same test set version gets the stored verdict without running again.
+     * Submissions made during an assessment session are judged ahead of practice ones.
+     */
+    public Submission submitCode(SubmissionDTO dto) {
+        // Rejected here rather than turning into a SYSTEM_ERROR on the judge
+        String language = languageRunnerRegistry.forLanguage(dto.getLanguage()).getLanguage();
         User user = userRepository.findById(dto.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         Problem problem = problemRepository.findById(dto.getProblemId())
@@ -31,92 +71,98 @@ public class SubmissionService {
         submission.setUser(user);
         submission.setProblem(problem);
         submission.setSourceCode(dto.getSourceCode());
-        submission.setLanguage(dto.getLanguage());
-        submission.setStatus("PENDING");
-        submissionRepository.save(submission);
+        submission.setLanguage(language);
+        if (dto.getAssessmentSessionId() != null) {
+            assessmentSessionService.requireOpenSession(dto.getAssessmentSessionId(), user.getId(), problem.getId());
+            submission.setAssessmentSessionId(dto.getAssessmentSessionId());
+            submission.setPriority(JudgeTask.PRIORITY_ASSESSMENT);
+        } else {
+            submission.setPriority(JudgeTask.PRIORITY_PRACTICE);
+        }
 
-        List<TestCase> testCases = testCaseRepository.findByProblemId(problem.getId());
-        int passCount = 0;
+        String sourceHash = SourceHasher.hash(dto.getSourceCode(), language, problem);
+        Optional<Submission> judged = submissionRepository
+                .findFirstBySourceHashAndStatusInOrderByIdDesc(sourceHash, CACHEABLE_STATUSES);
+        if (judged.isPresent()) {
+            return saveCachedVerdict(submission, sourceHash, judged.get());
+        }
 
-        Path tempDir = Files.createTempDirectory("submission_" + submission.getId());
-        File sourceFile = new File(tempDir.toFile(), "Main.java");
-        try (FileWriter writer = new FileWriter(sourceFile)) {
-            writer.write(dto.getSourceCode());
+        boolean databaseQueue = "database".equals(queueMode);
+        long pendingLimit = submission.getPriority() > JudgeTask.PRIORITY_PRACTICE ? maxPending : maxPending - assessmentReserved;
+        if (databaseQueue && submissionRepository.countByStatus(SubmissionStatus.PENDING) >= pendingLimit) {
+            throw new JudgeQueueFullException("Judge queue is full, please retry later");
         }
 
-        for (TestCase testCase : testCases) {
-            String userOutput = runCodeInDocker(tempDir.toAbsolutePath().toString(), testCase.getInputData());
+        submission.setStatus(SubmissionStatus.PENDING);
+        Submission saved = submissionRepository.save(submission);
 
-            if (userOutput.trim().equals(testCase.getExpectedOutput().trim())) {
-                passCount++;
-            } else {
-                submission.setStatus("WRONG_ANSWER");
-                break;
-            }
+        if (databaseQueue) {
+            progressPublisher.queued(saved.getId());
+            return saved;
         }
-
-        if (passCount == testCases.size()) {
-            submission.setStatus("ACCEPTED");
+        // Only published once the executor took the task, and by the task itself if it starts before that,
+        // so it can neither announce a rejected submission nor arrive after the judge's own events
+        QueuedEvent queued = new QueuedEvent(saved.getId());
+        try {
+            judgeExecutor.execute(new JudgeTask(saved.getPriority(), () -> {
+                queued.publish();
+                judgeService.judge(saved.getId());
+            }));
+        } catch (TaskRejectedException e) {
+            submissionRepository.delete(saved);
+            throw new JudgeQueueFullException("Judge queue is full, please retry later");
         }
-        submission.setPassCount(passCount);
-        submission.setTotalTestCases(testCases.size());
+        queued.publish();
 
-        sourceFile.delete();
-        tempDir.toFile().delete();
-
-        return submissionRepository.save(submission);
+        return saved;
     }
 
-    private String runCodeInDocker(String hostPathFolder, String input) {
-        try {
-            String[] dockerCommand = {
-                    "docker", "run", "--rm",
-                    "-i",
-                    "-v", hostPathFolder + ":/app",
-                    "eclipse-temurin:17-jdk-alpine",
-                    "sh", "-c",
-                    "javac /app/Main.java && java -cp /app Main"
-            };
-
-            ProcessBuilder pb = new ProcessBuilder(dockerCommand);
-            Process process = pb.start();
-
-            try (OutputStream os = process.getOutputStream()) {
-                os.write(input.getBytes());
-                os.flush();
-            }
+    private Submission saveCachedVerdict(Submission submission, String sourceHash, Submission judged) {
+        submission.setSourceHash(sourceHash);
+        submission.setStatus(judged.getStatus());
+        submission.setPassCount(judged.getPassCount());
+        submission.setTotalTestCases(judged.getTotalTestCases());
+        submission.setRuntimeMs(judged.getRuntimeMs());
+        submission.setMemoryUsageKb(judged.getMemoryUsageKb());
+        submission.setCompileOutput(judged.getCompileOutput());
+        Submission saved = submissionRepository.save(submission);
+
+        List<SubmissionTestResult> testResults = submissionTestResultRepository
+                .findBySubmissionIdOrderByTestIndex(judged.getId()).stream().map(judgedResult -> {
+                    SubmissionTestResult testResult = new SubmissionTestResult();
+                    testResult.setSubmission(saved);
+                    testResult.setTestCaseId(judgedResult.getTestCaseId());
+                    testResult.setTestIndex(judgedResult.getTestIndex());
+                    testResult.setStatus(judgedResult.getStatus());
+                    testResult.setCpuTimeMs(judgedResult.getCpuTimeMs());
+                    testResult.setWallTimeMs(judgedResult.getWallTimeMs());
+                    testResult.setMemoryUsageKb(judgedResult.getMemoryUsageKb());
+                    return testResult;
+                }).toList();
+        submissionTestResultRepository.saveAll(testResults);
+        leaderboardService.onVerdict(saved);
+        problemStatsService.onVerdict(saved.getProblem().getId(), null, saved.getStatus());
+        return saved;
+    }
 
-            StringBuilder output = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    output.append(line).append("\n");
-                }
-            }
+    public Submission getSubmission(Long id) {
+        return submissionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Submission not found with id: " + id));
+    }
 
-            StringBuilder error = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    error.append(line).append("\n");
-                }
-            }
+    private class QueuedEvent {
+        private final Long submissionId;
+        private boolean published;
 
-            boolean finished = process.waitFor(5, TimeUnit.SECONDS);
-            if (!finished) {
-                process.destroy();
-                return "TIME_LIMIT_EXCEEDED";
-            }
+        QueuedEvent(Long submissionId) {
+            this.submissionId = submissionId;
+        }
 
-            if (process.exitValue() != 0) {
-                return "COMPILE_ERROR: " + error.toString();
+        synchronized void publish() {
+            if (!published) {
+                published = true;
+                progressPublisher.queued(submissionId);
             }
-
-            return output.toString();
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            return "SYSTEM_ERROR: " + e.getMessage();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,227 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import com.datn.onlinerecruitmentsystem.dto.response.TestCaseImportResponse;
+import com.datn.onlinerecruitmentsystem.entity.Problem;
+import com.datn.onlinerecruitmentsystem.entity.TestCase;
+import com.datn.onlinerecruitmentsystem.repository.ProblemRepository;
+import com.datn.onlinerecruitmentsystem.repository.TestCaseRepository;
+import com.datn.onlinerecruitmentsystem.service.judge.TestDataStore;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Imports test cases from a ZIP of {@code N.in} / {@code N.out} pairs (in any folder, any order).
+ * Every entry is streamed straight into the test data store, so memory use does not depend on the
+ * archive size; the rows are then inserted in N order, in JDBC batches, with the persistence context
+ * cleared after each batch. Data larger than {@code judge.test-data.inline-max-bytes} is not copied
+ * into the test_cases TEXT columns; it is shared with the other judge hosts through test_data_chunks.
+ */
+@Service
+@RequiredArgsConstructor
+public class TestCaseImportService {
+
+    private static final Pattern ENTRY_NAME = Pattern.compile("(?:.*/)?(\\d+)\\.(in|out)");
+    private static final int BATCH_SIZE = 50;
+
+    private final ProblemRepository problemRepository;
+    private final TestCaseRepository testCaseRepository;
+    private final TestDataStore testDataStore;
+    private final TestDataService testDataService;
+    private final EntityManager entityManager;
+
+    // A TEXT column holds at most 64KB
+    @Value("${judge.test-data.inline-max-bytes:65535}")
+    private long inlineMaxBytes;
+
+    // Uncompressed size and entry count caps, against zip bombs
+    @Value("${judge.test-data.import.max-bytes:2147483648}")
+    private long maxBytes;
+
+    @Value("${judge.test-data.import.max-entries:20000}")
+    private int maxEntries;
+
+    /**
+     * @param replace      delete the problem's current test cases first, otherwise append after them
+     * @param visibleCount how many of the imported cases, lowest N first, are public samples
+     */
+    @Transactional
+    public TestCaseImportResponse importZip(Long problemId, InputStream zip, boolean replace, int visibleCount)
+            throws IOException {
+        Problem problem = problemRepository.findById(problemId)
+                .orElseThrow(() -> new RuntimeException("Problem not found with id: " + problemId));
+
+        // Pass 1: stream every entry into the store, keeping only hashes and sizes
+        Map<Long, StoredPair> pairs = new TreeMap<>();
+        long totalBytes = 0;
+        int entries = 0;
+        try (ZipInputStream in = new ZipInputStream(zip, StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                Matcher name = ENTRY_NAME.matcher(entry.getName());
+                if (entry.isDirectory() || !name.matches()) {
+                    continue;
+                }
+                if (++entries > maxEntries) {
+                    throw new IllegalArgumentException("Archive has more than " + maxEntries + " test files");
+                }
+                long number = Long.parseLong(name.group(1));
+                boolean input = "in".equals(name.group(2));
+                StoredPair pair = pairs.computeIfAbsent(number, n -> new StoredPair());
+                // The same N in two folders (or as 1 and 01) would otherwise silently replace the first file
+                if ((input ? pair.inputHash : pair.outputHash) != null) {
+                    throw new IllegalArgumentException("Test " + number + " has more than one ." + name.group(2)
+                            + " file, the second is " + entry.getName());
+                }
+                CountingInputStream counted = new CountingInputStream(in, maxBytes - totalBytes);
+                String hash = testDataStore.store(counted);
+                totalBytes += counted.count;
+
+                if (input) {
+                    pair.inputHash = hash;
+                    pair.inputSize = counted.count;
+                } else {
+                    pair.outputHash = hash;
+                    pair.outputSize = counted.count;
+                }
+            }
+        }
+
+        List<Long> incomplete = new ArrayList<>();
+        pairs.forEach((n, pair) -> {
+            if (pair.inputHash == null || pair.outputHash == null) {
+                incomplete.add(n);
+            }
+        });
+        if (pairs.isEmpty()) {
+            throw new IllegalArgumentException("Archive has no N.in / N.out files");
+        }
+        if (!incomplete.isEmpty()) {
+            throw new IllegalArgumentException("Missing .in or .out file for test(s) " + incomplete);
+        }
+
+        int deleted = 0;
+        if (replace) {
+            List<Long> ids = testCaseRepository.findDataRefsByProblemId(problemId).stream()
+                    .map(TestCaseRepository.DataRef::getId).toList();
+            if (!ids.isEmpty()) {
+                testCaseRepository.deleteAllByIdInBatch(ids);
+                deleted = ids.size();
+            }
+        }
+
+        // Pass 2: insert the rows in batches; only small data is read back from the store
+        List<TestCase> batch = new ArrayList<>(BATCH_SIZE);
+        int index = 0;
+        for (StoredPair pair : pairs.values()) {
+            TestCase testCase = new TestCase();
+            testCase.setProblem(problem);
+            testCase.setHidden(index++ >= visibleCount);
+            testCase.setInputHash(pair.inputHash);
+            testCase.setOutputHash(pair.outputHash);
+            if (pair.inputSize <= inlineMaxBytes && pair.outputSize <= inlineMaxBytes) {
+                testCase.setInputData(Files.readString(testDataStore.path(pair.inputHash), StandardCharsets.UTF_8));
+                testCase.setExpectedOutput(Files.readString(testDataStore.path(pair.outputHash), StandardCharsets.UTF_8));
+            } else if (!testCase.isHidden()) {
+                throw new IllegalArgumentException("Sample tests must be at most " + inlineMaxBytes + " bytes");
+            } else {
+                testDataService.share(pair.inputHash);
+                testDataService.share(pair.outputHash);
+                // Detach the chunks so they are not held in memory until the end of the import
+                entityManager.clear();
+            }
+            batch.add(testCase);
+            if (batch.size() == BATCH_SIZE) {
+                flush(batch);
+            }
+        }
+        flush(batch);
+
+        problem = problemRepository.findById(problemId).orElseThrow();
+        long version = problem.getTestSetVersion() != null ? problem.getTestSetVersion() : 0L;
+        problem.setTestSetVersion(version + 1);
+        problemRepository.save(problem);
+
+        TestCaseImportResponse response = new TestCaseImportResponse();
+        response.setProblemId(problemId);
+        response.setImported(pairs.size());
+        response.setDeleted(deleted);
+        response.setTotalBytes(totalBytes);
+        response.setTestSetVersion(problem.getTestSetVersion());
+        return response;
+    }
+
+    private void flush(List<TestCase> batch) {
+        testCaseRepository.saveAll(batch);
+        entityManager.flush();
+        // Detach what was written so the persistence context stays the size of one batch
+        entityManager.clear();
+        batch.clear();
+    }
+
+    private static class StoredPair {
+        private String inputHash;
+        private String outputHash;
+        private long inputSize;
+        private long outputSize;
+    }
+
+    /**
+     * Counts the bytes of one zip entry and stops at the import's remaining byte budget.
+     * Closing it does not close the zip stream, which moves on to the next entry.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        CountingInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                add(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                add(n);
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private void add(long n) {
+            count += n;
+            if (count > limit) {
+                throw new IllegalArgumentException("Archive is larger than the import limit when uncompressed");
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import com.datn.onlinerecruitmentsystem.entity.Problem;
+import com.datn.onlinerecruitmentsystem.entity.TestCase;
+import com.datn.onlinerecruitmentsystem.entity.TestDataChunk;
+import com.datn.onlinerecruitmentsystem.repository.TestCaseRepository;
+import com.datn.onlinerecruitmentsystem.repository.TestDataChunkRepository;
+import com.datn.onlinerecruitmentsystem.service.judge.JudgeTestCase;
+import com.datn.onlinerecruitmentsystem.service.judge.TestDataStore;
+import com.datn.onlinerecruitmentsystem.service.judge.TestSetCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the judge's on-disk test data store in sync with the test_cases table. Data too large for its
+ * TEXT columns is shared through test_data_chunks instead, so every judge host can fill its own store.
+ */
+@Service
+@RequiredArgsConstructor
+public class TestDataService {
+
+    private static final int CHUNK_BYTES = 4 << 20;
+
+    private final TestCaseRepository testCaseRepository;
+    private final TestDataChunkRepository testDataChunkRepository;
+    private final TestDataStore testDataStore;
+    private final TestSetCache testSetCache;
+
+    /**
+     * Writes the input and expected output of a test case to the store and records their hashes on it.
+     * The caller saves the entity.
+     */
+    public void storeTestData(TestCase testCase) {
+        try {
+            testCase.setInputHash(testDataStore.store(testCase.getInputData()));
+            testCase.setOutputHash(testDataStore.store(testCase.getExpectedOutput()));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not store test data: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Copies a blob of the local store into test_data_chunks, once per hash, in chunks that stay well under
+     * MySQL's max_allowed_packet. Runs in the caller's transaction.
+     */
+    public void share(String hash) throws IOException {
+        if (testDataChunkRepository.existsByHashAndSeq(hash, 0)) {
+            return;
+        }
+        try (InputStream in = testDataStore.openStream(hash)) {
+            int seq = 0;
+            byte[] data;
+            do {
+                data = in.readNBytes(CHUNK_BYTES);
+                if (data.length > 0 || seq == 0) {
+                    TestDataChunk chunk = new TestDataChunk();
+                    chunk.setHash(hash);
+                    chunk.setSeq(seq++);
+                    chunk.setData(data);
+                    testDataChunkRepository.saveAndFlush(chunk);
+                }
+            } while (data.length == CHUNK_BYTES);
+        }
+    }
+
+    /**
+     * Returns the test set of a problem at its current test set version, from the cache when possible.
+     */
+    public List<JudgeTestCase> loadTestSet(Problem problem) {
+        long version = problem.getTestSetVersion() != null ? problem.getTestSetVersion() : 0L;
+        return testSetCache.get(problem.getId(), version, () -> loadFromDatabase(problem.getId()));
+    }
+
+    /**
+     * Loads the test set of a problem, ordered by id, with every blob present in the local store.
+     * Rows written before the store existed, or blobs missing on this host, are synced from the DB here.
+     */
+    private List<JudgeTestCase> loadFromDatabase(Long problemId) {
+        List<JudgeTestCase> testSet = new ArrayList<>();
+        for (TestCaseRepository.DataRef ref : testCaseRepository.findDataRefsByProblemId(problemId)) {
+            if (testDataStore.contains(ref.getInputHash()) && testDataStore.contains(ref.getOutputHash())) {
+                testSet.add(new JudgeTestCase(ref.getId(), ref.getInputHash(), ref.getOutputHash()));
+                continue;
+            }
+
+            TestCase testCase = testCaseRepository.findById(ref.getId())
+                    .orElseThrow(() -> new RuntimeException("Test case not found with id: " + ref.getId()));
+            // Imported data too large for the TEXT columns is in test_data_chunks
+            if ((testCase.getInputData() == null && testCase.getInputHash() != null)
+                    || (testCase.getExpectedOutput() == null && testCase.getOutputHash() != null)) {
+                fetchShared(testCase.getInputHash());
+                fetchShared(testCase.getOutputHash());
+                testSet.add(new JudgeTestCase(testCase.getId(), testCase.getInputHash(), testCase.getOutputHash()));
+                continue;
+            }
+            storeTestData(testCase);
+            testCaseRepository.save(testCase);
+            testSet.add(new JudgeTestCase(testCase.getId(), testCase.getInputHash(), testCase.getOutputHash()));
+        }
+        return testSet;
+    }
+
+    /**
+     * Streams a shared blob from test_data_chunks into the local store, one chunk in memory at a time.
+     */
+    private void fetchShared(String hash) {
+        if (testDataStore.contains(hash)) {
+            return;
+        }
+        if (!testDataChunkRepository.existsByHashAndSeq(hash, 0)) {
+            throw new RuntimeException("Test data " + hash + " is neither in the store on this host nor in the database");
+        }
+        Enumeration<InputStream> chunks = new Enumeration<>() {
+            private int seq;
+            private Optional<TestDataChunk> next = testDataChunkRepository.findByHashAndSeq(hash, 0);
+
+            @Override
+            public boolean hasMoreElements() {
+                return next.isPresent();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                InputStream chunk = new ByteArrayInputStream(next.orElseThrow().getData());
+                next = testDataChunkRepository.findByHashAndSeq(hash, ++seq);
+                return chunk;
+            }
+        };
+        try (InputStream in = new SequenceInputStream(chunks)) {
+            String stored = testDataStore.store(in);
+            if (!stored.equals(hash)) {
+                throw new RuntimeException("Test data " + hash + " in the database is corrupt");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not store test data: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class CppLanguageRunner implements LanguageRunner {
+
+    // Alpine, like the other images, so busybox provides the /usr/bin/time the ResourceMeter needs
+    @Value("${judge.languages.cpp.image:frolvlad/alpine-gxx}")
+    private String image;
+
+    @Override
+    public String getLanguage() {
+        return "CPP";
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return List.of("C++", "CPLUSPLUS");
+    }
+
+    @Override
+    public String getImage() {
+        return image;
+    }
+
+    @Override
+    public String getSourceFileName() {
+        return "main.cpp";
+    }
+
+    @Override
+    public List<String> compileCommand(String workDir) {
+        return List.of("g++", "-O2", "-std=gnu++17", "-pipe", "-o", workDir + "/main", workDir + "/main.cpp");
+    }
+
+    @Override
+    public List<String> runCommand(String workDir, int memoryLimitMb) {
+        return LanguageRunner.withAddressSpaceLimit(memoryLimitMb, List.of(workDir + "/main"));
+    }
+
+    @Override
+    public List<String> warmUpCommand() {
+        // bits/stdc++.h pulls in most of the standard headers submissions use
+        return List.of("sh", "-c", "printf '#include <bits/stdc++.h>\\nint main() {}\\n' > /tmp/w.cpp"
+                + " && g++ -O2 -std=gnu++17 -o /tmp/w /tmp/w.cpp");
+    }
+
+    @Override
+    public boolean isOutOfMemory(String stderr) {
+        return stderr.contains("std::bad_alloc");
+    }
+}
@@ -0,0 +1,121 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fallback runner: every command gets its own {@code docker run --rm} container.
+ * Slow under load but has no shared state between runs. Containers are locked down like the
+ * pooled ones: read-only root filesystem, unprivileged user and a process limit. The work
+ * directory is bind-mounted, so the compiler, running as that user, may only write to it while
+ * compiling and creates everything world-writable so the judge can delete it afterwards.
+ */
+@Component
+@ConditionalOnProperty(name = "judge.sandbox.mode", havingValue = "oneshot", matchIfMissing = true)
+public class DockerSandboxRunner implements SandboxRunner {
+
+    private static final String CONTAINER_WORK_DIR = "/app";
+    private static final String SANDBOX_USER = "65534:65534";
+
+    @Value("${judge.sandbox.memory:512m}")
+    private String memory;
+
+    @Value("${judge.sandbox.cpus:1}")
+    private String cpus;
+
+    @Override
+    public Sandbox acquire(Path hostWorkDir, LanguageRunner language) {
+        return new OneShotSandbox(hostWorkDir.toAbsolutePath().toString(), language.getImage());
+    }
+
+    private class OneShotSandbox implements Sandbox {
+
+        private final String hostWorkDir;
+        private final String image;
+        private final List<String> containerNames = new ArrayList<>();
+
+        OneShotSandbox(String hostWorkDir, String image) {
+            this.hostWorkDir = hostWorkDir;
+            this.image = image;
+        }
+
+        @Override
+        public String getWorkDir() {
+            return CONTAINER_WORK_DIR;
+        }
+
+        @Override
+        public Process compile(List<String> command) throws IOException {
+            setWorkDirPermissions("rwxrwxrwx");
+            List<String> withUmask = new ArrayList<>(List.of("sh", "-c", "umask 000; exec \"$@\"", "sh"));
+            withUmask.addAll(command);
+            return start(withUmask, false);
+        }
+
+        @Override
+        public void saveArtifacts() throws IOException {
+            // The work directory is bind-mounted, artifacts are already on the host; runs only read them
+            setWorkDirPermissions("rwxr-xr-x");
+        }
+
+        @Override
+        public Process run(List<String> command) throws IOException {
+            return start(command, true);
+        }
+
+        @Override
+        public void close() {
+            // Killing the docker client does not stop the container, so remove leftovers of timed out runs
+            if (containerNames.isEmpty()) {
+                return;
+            }
+            List<String> command = new ArrayList<>(List.of("docker", "rm", "-f"));
+            command.addAll(containerNames);
+            try {
+                new ProcessBuilder(command)
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.DISCARD)
+                        .start();
+            } catch (IOException e) {
+                System.err.println("Could not remove sandbox containers: " + e.getMessage());
+            }
+        }
+
+        private void setWorkDirPermissions(String permissions) throws IOException {
+            try {
+                Files.setPosixFilePermissions(Paths.get(hostWorkDir), PosixFilePermissions.fromString(permissions));
+            } catch (UnsupportedOperationException e) {
+                // No POSIX permissions on this host, docker does not enforce them on its mounts either
+            }
+        }
+
+        private Process start(List<String> command, boolean readOnly) throws IOException {
+            String name = "judge-oneshot-" + UUID.randomUUID().toString().substring(0, 8);
+            containerNames.add(name);
+            List<String> dockerCommand = new ArrayList<>(List.of(
+                    "docker", "run", "--rm", "-i",
+                    "--name", name,
+                    "--network", "none",
+                    "--memory", memory,
+                    "--cpus", cpus,
+                    "--pids-limit", "256",
+                    "--read-only",
+                    "--tmpfs", "/tmp:rw,exec,mode=1777,size=64m",
+                    "-u", SANDBOX_USER,
+                    "-v", hostWorkDir + ":" + CONTAINER_WORK_DIR + (readOnly ? ":ro" : ""),
+                    image));
+            dockerCommand.addAll(command);
+            return new ProcessBuilder(dockerCommand).start();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import com.datn.onlinerecruitmentsystem.entity.Problem;
+import com.datn.onlinerecruitmentsystem.enums.CheckerType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Whitespace-insensitive comparison where numeric tokens may differ by
+ * {@code Problem.checkerTolerance}, absolute or relative to the expected value.
+ */
+@Component
+public class FloatOutputChecker implements OutputChecker {
+
+    private static final double DEFAULT_TOLERANCE = 1e-6;
+
+    @Override
+    public CheckerType getType() {
+        return CheckerType.FLOAT;
+    }
+
+    @Override
+    public boolean check(Reader expected, Reader actual, Problem problem) throws IOException {
+        double tolerance = problem.getCheckerTolerance() != null ? problem.getCheckerTolerance() : DEFAULT_TOLERANCE;
+        TokenReader expectedTokens = new TokenReader(expected, false);
+        TokenReader actualTokens = new TokenReader(actual, false);
+
+        while (true) {
+            String expectedToken = expectedTokens.next();
+            String actualToken = actualTokens.next();
+            if (expectedToken == null || actualToken == null) {
+                return expectedToken == null && actualToken == null;
+            }
+            if (!expectedToken.equals(actualToken) && !closeEnough(expectedToken, actualToken, tolerance)) {
+                return false;
+            }
+        }
+    }
+
+    private boolean closeEnough(String expectedToken, String actualToken, double tolerance) {
+        double expectedValue;
+        double actualValue;
+        try {
+            expectedValue = Double.parseDouble(expectedToken);
+            actualValue = Double.parseDouble(actualToken);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Double.isNaN(expectedValue) || Double.isNaN(actualValue)) {
+            return false;
+        }
+        double diff = Math.abs(expectedValue - actualValue);
+        return diff <= tolerance || diff <= tolerance * Math.abs(expectedValue);
+    }
+}
@@ -0,0 +1,50 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class JavaLanguageRunner implements LanguageRunner {
+
+    @Value("${judge.languages.java.image:${judge.sandbox.image:eclipse-temurin:17-jdk-alpine}}")
+    private String image;
+
+    @Override
+    public String getLanguage() {
+        return "JAVA";
+    }
+
+    @Override
+    public String getImage() {
+        return image;
+    }
+
+    @Override
+    public String getSourceFileName() {
+        return "Main.java";
+    }
+
+    @Override
+    public List<String> compileCommand(String workDir) {
+        return List.of("javac", "-encoding", "UTF-8", "-d", workDir + "/classes", workDir + "/Main.java");
+    }
+
+    @Override
+    public List<String> runCommand(String workDir, int memoryLimitMb) {
+        // Serial GC keeps JVM housekeeping threads from inflating the measured CPU time
+        return List.of("java", "-Xmx" + memoryLimitMb + "m", "-XX:+UseSerialGC",
+                "-cp", workDir + "/classes", "Main");
+    }
+
+    @Override
+    public List<String> warmUpCommand() {
+        return List.of("sh", "-c", "echo 'class W {}' > /tmp/W.java && javac -d /tmp /tmp/W.java && java -version");
+    }
+
+    @Override
+    public boolean isOutOfMemory(String stderr) {
+        return stderr.contains("java.lang.OutOfMemoryError");
+    }
+}
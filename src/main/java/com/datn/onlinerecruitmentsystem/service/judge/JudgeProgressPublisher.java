@@ -0,0 +1,59 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import com.datn.onlinerecruitmentsystem.dto.JudgeProgressMessage;
+import com.datn.onlinerecruitmentsystem.entity.Submission;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pushes judge progress to the per-submission STOMP topic. Progress is informational only:
+ * a failure to publish is logged and never affects the verdict.
+ */
+@Component
+@RequiredArgsConstructor
+public class JudgeProgressPublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public void queued(Long submissionId) {
+        publish(message(submissionId, "QUEUED"));
+    }
+
+    public void compiling(Long submissionId) {
+        publish(message(submissionId, "COMPILING"));
+    }
+
+    public void testPassed(Long submissionId, int passedTests, int totalTests) {
+        JudgeProgressMessage message = message(submissionId, "TEST_PASSED");
+        message.setPassedTests(passedTests);
+        message.setTotalTests(totalTests);
+        publish(message);
+    }
+
+    public void verdict(Submission submission) {
+        JudgeProgressMessage message = message(submission.getId(), "VERDICT");
+        message.setStatus(submission.getStatus().name());
+        message.setPassedTests(submission.getPassCount());
+        message.setTotalTests(submission.getTotalTestCases());
+        message.setRuntimeMs(submission.getRuntimeMs());
+        message.setMemoryUsageKb(submission.getMemoryUsageKb());
+        publish(message);
+    }
+
+    private JudgeProgressMessage message(Long submissionId, String stage) {
+        JudgeProgressMessage message = new JudgeProgressMessage();
+        message.setSubmissionId(submissionId);
+        message.setStage(stage);
+        return message;
+    }
+
+    private void publish(JudgeProgressMessage message) {
+        try {
+            messagingTemplate.convertAndSend("/topic/submissions/" + message.getSubmissionId(), message);
+        } catch (Exception e) {
+            System.err.println("Could not publish judge progress for submission "
+                    + message.getSubmissionId() + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A unit of work for the judge executor with a queue priority, see {@link JudgeTaskQueue}.
+ */
+public final class JudgeTask implements Runnable {
+
+    public static final int PRIORITY_PRACTICE = 0;
+    public static final int PRIORITY_ASSESSMENT = 1;
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final int priority;
+    private final long sequence = SEQUENCE.getAndIncrement();
+    private final Runnable work;
+
+    public JudgeTask(int priority, Runnable work) {
+        this.priority = priority;
+        this.work = work;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public void run() {
+        work.run();
+    }
+}
@@ -0,0 +1,44 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import java.util.Comparator;
+import java.util.concurrent.PriorityBlockingQueue;
+
+/**
+ * Work queue of the judge executor: higher priority first, then first come first served.
+ * It is bounded like the queue it replaces, and the last {@code reserved} slots only take tasks
+ * above practice priority, so a flood of practice submissions cannot lock an assessment out.
+ * Tasks that are not {@link JudgeTask}s count as practice and queue behind those of equal priority.
+ */
+public class JudgeTaskQueue extends PriorityBlockingQueue<Runnable> {
+
+    private static final Comparator<Runnable> ORDER = Comparator
+            .comparingInt(JudgeTaskQueue::priorityOf).reversed()
+            .thenComparingLong(task -> task instanceof JudgeTask judgeTask ? judgeTask.getSequence() : Long.MAX_VALUE);
+
+    private final int capacity;
+    private final int reserved;
+
+    public JudgeTaskQueue(int capacity, int reserved) {
+        super(Math.max(1, capacity), ORDER);
+        this.capacity = capacity;
+        this.reserved = Math.min(reserved, capacity);
+    }
+
+    @Override
+    public synchronized boolean offer(Runnable task) {
+        int limit = priorityOf(task) > JudgeTask.PRIORITY_PRACTICE ? capacity : capacity - reserved;
+        if (size() >= limit) {
+            return false;
+        }
+        return super.offer(task);
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size());
+    }
+
+    private static int priorityOf(Runnable task) {
+        return task instanceof JudgeTask judgeTask ? judgeTask.getPriority() : JudgeTask.PRIORITY_PRACTICE;
+    }
+}
@@ -0,0 +1,15 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * What the judge needs to know about a test case: where its data lives in the {@link TestDataStore}.
+ */
+@Getter
+@AllArgsConstructor
+public class JudgeTestCase {
+    private final Long id;
+    private final String inputHash;
+    private final String outputHash;
+}
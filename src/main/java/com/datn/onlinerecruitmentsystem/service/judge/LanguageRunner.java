@@ -0,0 +1,59 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How the judge builds and runs code in one language. Register new languages as beans,
+ * {@link LanguageRunnerRegistry} picks them up by {@link #getLanguage()} and {@link #getAliases()}.
+ * Paths in commands are built from the sandbox work directory, which holds the source file.
+ */
+public interface LanguageRunner {
+
+    /**
+     * Canonical name, as stored in {@code Submission.language} (JAVA, PYTHON, CPP).
+     */
+    String getLanguage();
+
+    default List<String> getAliases() {
+        return List.of();
+    }
+
+    /**
+     * Sandbox image that has this language's toolchain.
+     */
+    String getImage();
+
+    String getSourceFileName();
+
+    /**
+     * Compiles (or syntax-checks) the source; a non-zero exit is a COMPILE_ERROR.
+     */
+    List<String> compileCommand(String workDir);
+
+    /**
+     * Runs the compiled program. The memory limit is the problem's, enforced the way the language allows.
+     */
+    List<String> runCommand(String workDir, int memoryLimitMb);
+
+    /**
+     * Run once in every fresh pooled container, so the first submission does not pay for a cold
+     * toolchain (compiler binaries and headers or modules not yet in the page cache). May only write to /tmp.
+     */
+    List<String> warmUpCommand();
+
+    /**
+     * Whether a failed run's stderr shows an allocation failure, i.e. the program ran out of its memory limit.
+     */
+    boolean isOutOfMemory(String stderr);
+
+    /**
+     * Wraps a command in a shell that caps the address space, for runtimes that have no heap limit flag.
+     */
+    static List<String> withAddressSpaceLimit(int memoryLimitMb, List<String> command) {
+        List<String> wrapped = new ArrayList<>(List.of("sh", "-c",
+                "ulimit -v " + memoryLimitMb * 1024L + "; exec \"$@\"", "sh"));
+        wrapped.addAll(command);
+        return wrapped;
+    }
+}
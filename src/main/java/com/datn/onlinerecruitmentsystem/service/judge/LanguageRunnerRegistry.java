@@ -0,0 +1,43 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class LanguageRunnerRegistry {
+
+    // Submissions stored before languages were told apart were all Java
+    private static final String DEFAULT_LANGUAGE = "JAVA";
+
+    private final Map<String, LanguageRunner> runners = new LinkedHashMap<>();
+    private final Map<String, LanguageRunner> byName = new LinkedHashMap<>();
+
+    public LanguageRunnerRegistry(List<LanguageRunner> runners) {
+        for (LanguageRunner runner : runners) {
+            this.runners.put(runner.getLanguage(), runner);
+            byName.put(runner.getLanguage(), runner);
+            for (String alias : runner.getAliases()) {
+                byName.put(alias, runner);
+            }
+        }
+    }
+
+    public Optional<LanguageRunner> find(String language) {
+        String name = language == null || language.isBlank() ? DEFAULT_LANGUAGE : language.trim().toUpperCase(Locale.ROOT);
+        return Optional.ofNullable(byName.get(name));
+    }
+
+    public LanguageRunner forLanguage(String language) {
+        return find(language).orElseThrow(() -> new IllegalArgumentException("Unsupported language: " + language));
+    }
+
+    public Collection<LanguageRunner> getRunners() {
+        return runners.values();
+    }
+}
@@ -0,0 +1,54 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Runs commands directly on the host, without any isolation, with whatever toolchains the host has.
+ * Stands in for Docker in tests and local development only, never enable it in production.
+ */
+@Component
+@ConditionalOnProperty(name = "judge.sandbox.mode", havingValue = "local")
+public class LocalSandboxRunner implements SandboxRunner {
+
+    @Override
+    public Sandbox acquire(Path hostWorkDir, LanguageRunner language) {
+        return new LocalSandbox(hostWorkDir.toAbsolutePath());
+    }
+
+    private static class LocalSandbox implements Sandbox {
+
+        private final Path workDir;
+
+        LocalSandbox(Path workDir) {
+            this.workDir = workDir;
+        }
+
+        @Override
+        public String getWorkDir() {
+            return workDir.toString();
+        }
+
+        @Override
+        public Process compile(List<String> command) throws IOException {
+            return new ProcessBuilder(command).directory(workDir.toFile()).start();
+        }
+
+        @Override
+        public void saveArtifacts() {
+        }
+
+        @Override
+        public Process run(List<String> command) throws IOException {
+            return new ProcessBuilder(command).directory(workDir.toFile()).start();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
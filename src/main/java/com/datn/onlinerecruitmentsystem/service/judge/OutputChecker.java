@@ -0,0 +1,20 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import com.datn.onlinerecruitmentsystem.entity.Problem;
+import com.datn.onlinerecruitmentsystem.enums.CheckerType;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Decides whether a program's output matches the expected output of a test case.
+ * Implementations read both streams incrementally and return as soon as they differ,
+ * so a wrong answer never has to be buffered in full. Register new checkers as beans,
+ * {@link OutputCheckerRegistry} picks them up by {@link #getType()}.
+ */
+public interface OutputChecker {
+
+    CheckerType getType();
+
+    boolean check(Reader expected, Reader actual, Problem problem) throws IOException;
+}
@@ -0,0 +1,30 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import com.datn.onlinerecruitmentsystem.entity.Problem;
+import com.datn.onlinerecruitmentsystem.enums.CheckerType;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class OutputCheckerRegistry {
+
+    private final Map<CheckerType, OutputChecker> checkers = new EnumMap<>(CheckerType.class);
+
+    public OutputCheckerRegistry(List<OutputChecker> checkers) {
+        for (OutputChecker checker : checkers) {
+            this.checkers.put(checker.getType(), checker);
+        }
+    }
+
+    public OutputChecker forProblem(Problem problem) {
+        CheckerType type = problem.getCheckerType() != null ? problem.getCheckerType() : CheckerType.TOKEN;
+        OutputChecker checker = checkers.get(type);
+        if (checker == null) {
+            throw new IllegalStateException("No output checker registered for " + type);
+        }
+        return checker;
+    }
+}
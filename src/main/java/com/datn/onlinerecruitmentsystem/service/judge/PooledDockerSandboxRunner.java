@@ -0,0 +1,443 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import com.datn.onlinerecruitmentsystem.repository.SubmissionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a pool of pre-started, resource-limited containers ({@code sleep infinity}) and runs
+ * judge commands in them with {@code docker exec}, avoiding a container start per test case.
+ * Files move in and out through tar pipes because the container filesystem is read-only
+ * apart from its tmpfs mounts. Containers are wiped after every lease, health-checked while
+ * idle and replaced after {@code judge.sandbox.pool.max-runs} commands.
+ * <p>
+ * There is one pool per language, each on that language's image, and every new container runs the
+ * language's warm-up before it is handed out. The {@code judge.sandbox.pool.size} containers are split
+ * between languages by the mix of the last {@code judge.sandbox.pool.mix-window} submissions, with at
+ * least {@code judge.sandbox.pool.min-per-language} each so that no language starts cold.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "judge.sandbox.mode", havingValue = "pool")
+public class PooledDockerSandboxRunner implements SandboxRunner {
+
+    private static final String CONTAINER_WORK_DIR = "/sandbox";
+    private static final String SANDBOX_USER = "65534:65534";
+    private static final long DOCKER_COMMAND_TIMEOUT_SECONDS = 30;
+
+    @Value("${judge.sandbox.memory:512m}")
+    private String memory;
+
+    @Value("${judge.sandbox.cpus:1}")
+    private String cpus;
+
+    @Value("${judge.sandbox.pool.size:4}")
+    private int poolSize;
+
+    @Value("${judge.sandbox.pool.max-runs:200}")
+    private int maxRuns;
+
+    @Value("${judge.sandbox.pool.acquire-timeout-seconds:30}")
+    private long acquireTimeoutSeconds;
+
+    @Value("${judge.sandbox.pool.min-per-language:1}")
+    private int minPerLanguage;
+
+    @Value("${judge.sandbox.pool.mix-window:1000}")
+    private long mixWindow;
+
+    private final LanguageRunnerRegistry languageRunnerRegistry;
+    private final SubmissionRepository submissionRepository;
+
+    private final Map<String, LanguagePool> pools = new LinkedHashMap<>();
+
+    // Extra containers for an assessment session, see reserveCapacity()
+    private int reservedExtra;
+    private LocalDateTime reservedUntil;
+
+    @PostConstruct
+    public void init() {
+        for (LanguageRunner language : languageRunnerRegistry.getRunners()) {
+            pools.put(language.getLanguage(), new LanguagePool(language));
+        }
+        applyTargets();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (LanguagePool pool : pools.values()) {
+            for (PooledContainer container : pool.containers) {
+                removeContainer(container);
+            }
+        }
+    }
+
+    @Override
+    public Sandbox acquire(Path hostWorkDir, LanguageRunner language) throws IOException, InterruptedException {
+        PooledContainer container = pool(language).idle.poll(acquireTimeoutSeconds, TimeUnit.SECONDS);
+        if (container == null) {
+            throw new IOException("No " + language.getLanguage() + " sandbox container available after "
+                    + acquireTimeoutSeconds + "s");
+        }
+        return prepare(container, hostWorkDir);
+    }
+
+    @Override
+    public Sandbox tryAcquire(Path hostWorkDir, LanguageRunner language) throws IOException {
+        PooledContainer container = pool(language).idle.poll();
+        return container != null ? prepare(container, hostWorkDir) : null;
+    }
+
+    private LanguagePool pool(LanguageRunner language) throws IOException {
+        LanguagePool pool = pools.get(language.getLanguage());
+        if (pool == null) {
+            throw new IOException("No sandbox pool for language " + language.getLanguage());
+        }
+        return pool;
+    }
+
+    private Sandbox prepare(PooledContainer container, Path hostWorkDir) throws IOException {
+        Path workDir = hostWorkDir.toAbsolutePath();
+        try {
+            pipe(new ProcessBuilder("tar", "-C", workDir.toString(), "-cf", "-", "."),
+                    dockerExec(container, false, List.of("tar", "-xf", "-", "-C", CONTAINER_WORK_DIR)));
+        } catch (IOException e) {
+            replaceContainer(container);
+            throw e;
+        }
+        return new PooledSandbox(container, workDir);
+    }
+
+    @Scheduled(fixedDelayString = "${judge.sandbox.pool.health-check-interval-ms:30000}")
+    public void healthCheck() {
+        for (LanguagePool pool : pools.values()) {
+            int idleCount = pool.idle.size();
+            for (int i = 0; i < idleCount; i++) {
+                PooledContainer container = pool.idle.poll();
+                if (container == null) {
+                    break;
+                }
+                if (runDocker(List.of("docker", "exec", container.id, "true"))) {
+                    pool.idle.offer(container);
+                } else {
+                    System.err.println("Sandbox container " + container.id + " failed health check, replacing");
+                    replaceContainer(container);
+                }
+            }
+        }
+
+        // Top the pools back up if earlier starts failed
+        resizePools();
+    }
+
+    @Override
+    public synchronized void reserveCapacity(int extra, LocalDateTime until) {
+        if (reservedUntil != null && LocalDateTime.now().isBefore(reservedUntil)) {
+            reservedExtra = Math.max(reservedExtra, extra);
+            reservedUntil = until.isAfter(reservedUntil) ? until : reservedUntil;
+        } else {
+            reservedExtra = extra;
+            reservedUntil = until;
+        }
+        applyTargets();
+    }
+
+    /**
+     * Moves containers towards the languages that are actually being submitted.
+     */
+    @Scheduled(initialDelayString = "${judge.sandbox.pool.rebalance-interval-ms:300000}",
+            fixedDelayString = "${judge.sandbox.pool.rebalance-interval-ms:300000}")
+    public void rebalance() {
+        applyTargets();
+    }
+
+    private synchronized void applyTargets() {
+        Map<String, Long> mix = new HashMap<>();
+        try {
+            Long maxId = submissionRepository.findMaxId();
+            if (maxId != null) {
+                for (SubmissionRepository.LanguageCount count : submissionRepository.countByLanguageAfterId(maxId - mixWindow)) {
+                    languageRunnerRegistry.find(count.getLanguage()).ifPresent(language ->
+                            mix.merge(language.getLanguage(), count.getTotal(), Long::sum));
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Could not read the recent submission mix, splitting sandboxes evenly: " + e.getMessage());
+        }
+
+        int size = poolSize;
+        if (reservedUntil != null && LocalDateTime.now().isBefore(reservedUntil)) {
+            size += reservedExtra;
+        }
+        Map<String, Integer> targets = allocate(size, minPerLanguage, List.copyOf(pools.keySet()), mix);
+        pools.forEach((language, pool) -> pool.target = targets.get(language));
+        resizePools();
+    }
+
+    /**
+     * Gives every language {@code minPerLanguage} containers and splits the rest of {@code poolSize}
+     * in proportion to {@code mix}, largest remainders first; evenly when there is no mix yet.
+     */
+    static Map<String, Integer> allocate(int poolSize, int minPerLanguage, List<String> languages, Map<String, Long> mix) {
+        Map<String, Integer> targets = new LinkedHashMap<>();
+        long total = 0;
+        for (String language : languages) {
+            targets.put(language, minPerLanguage);
+            total += mix.getOrDefault(language, 0L);
+        }
+        int spare = Math.max(0, poolSize - minPerLanguage * languages.size());
+        if (spare == 0 || languages.isEmpty()) {
+            return targets;
+        }
+
+        long weightTotal = total > 0 ? total : languages.size();
+        Map<String, Long> remainders = new HashMap<>();
+        int given = 0;
+        for (String language : languages) {
+            long weight = total > 0 ? mix.getOrDefault(language, 0L) : 1;
+            int share = (int) (spare * weight / weightTotal);
+            targets.merge(language, share, Integer::sum);
+            remainders.put(language, spare * weight % weightTotal);
+            given += share;
+        }
+        List<String> byRemainder = new ArrayList<>(languages);
+        byRemainder.sort(Comparator.comparing(remainders::get).reversed());
+        for (int i = 0; i < spare - given; i++) {
+            targets.merge(byRemainder.get(i), 1, Integer::sum);
+        }
+        return targets;
+    }
+
+    private synchronized void resizePools() {
+        for (LanguagePool pool : pools.values()) {
+            for (int i = pool.containers.size(); i < pool.target; i++) {
+                addContainer(pool);
+            }
+            // Only idle containers are retired, busy ones go back to the pool and are trimmed next time
+            while (pool.containers.size() > pool.target) {
+                PooledContainer container = pool.idle.poll();
+                if (container == null) {
+                    break;
+                }
+                removeContainer(container);
+            }
+        }
+    }
+
+    private void release(PooledContainer container) {
+        if (container.runs.get() >= maxRuns) {
+            replaceContainer(container);
+            return;
+        }
+
+        if (reset(container)) {
+            container.pool.idle.offer(container);
+        } else {
+            replaceContainer(container);
+        }
+    }
+
+    private boolean reset(PooledContainer container) {
+        return runDocker(List.of("docker", "exec", "-u", "0", container.id, "sh", "-c",
+                "pkill -9 -u 65534; find " + CONTAINER_WORK_DIR + " /tmp -mindepth 1 -delete"));
+    }
+
+    private void addContainer(LanguagePool pool) {
+        String name = "judge-sandbox-" + pool.language.getLanguage().toLowerCase(Locale.ROOT) + "-"
+                + UUID.randomUUID().toString().substring(0, 8);
+        List<String> command = List.of(
+                "docker", "run", "-d", "--rm",
+                "--name", name,
+                "--label", "judge.sandbox=pool",
+                "--network", "none",
+                "--memory", memory,
+                "--cpus", cpus,
+                "--pids-limit", "256",
+                "--read-only",
+                "--tmpfs", CONTAINER_WORK_DIR + ":rw,exec,mode=1777,size=256m",
+                "--tmpfs", "/tmp:rw,exec,mode=1777,size=64m",
+                "--label", "judge.language=" + pool.language.getLanguage(),
+                pool.language.getImage(),
+                "sleep", "infinity");
+
+        if (!runDocker(command)) {
+            System.err.println("Could not start sandbox container " + name);
+            return;
+        }
+        PooledContainer container = new PooledContainer(name, pool);
+        pool.containers.add(container);
+
+        // A failing warm-up means a broken toolchain, better no container than one that fails every submission
+        List<String> warmUp = new ArrayList<>(List.of("docker", "exec", "-u", SANDBOX_USER, "-w", "/tmp", name));
+        warmUp.addAll(pool.language.warmUpCommand());
+        if (!runDocker(warmUp) || !reset(container)) {
+            System.err.println("Warm-up failed in sandbox container " + name + ", removing it");
+            removeContainer(container);
+            return;
+        }
+        // Unmetered runs would be judged on wall time, docker exec start-up included
+        List<String> probe = new ArrayList<>(List.of("docker", "exec", name));
+        probe.addAll(ResourceMeter.probeCommand());
+        if (!runDocker(probe)) {
+            System.err.println("Sandbox image " + pool.language.getImage() + " has no /usr/bin/time, "
+                    + pool.language.getLanguage() + " runs cannot be metered; removing sandbox container " + name);
+            removeContainer(container);
+            return;
+        }
+        pool.idle.offer(container);
+    }
+
+    private void replaceContainer(PooledContainer container) {
+        removeContainer(container);
+        addContainer(container.pool);
+    }
+
+    private void removeContainer(PooledContainer container) {
+        container.pool.containers.remove(container);
+        container.pool.idle.remove(container);
+        runDocker(List.of("docker", "rm", "-f", container.id));
+    }
+
+    private ProcessBuilder dockerExec(PooledContainer container, boolean interactive, List<String> command) {
+        List<String> dockerCommand = new ArrayList<>(List.of("docker", "exec"));
+        if (interactive) {
+            dockerCommand.add("-i");
+        }
+        dockerCommand.addAll(List.of("-u", SANDBOX_USER, "-w", CONTAINER_WORK_DIR, container.id));
+        dockerCommand.addAll(command);
+        return new ProcessBuilder(dockerCommand);
+    }
+
+    private boolean runDocker(List<String> command) {
+        try {
+            Process process = new ProcessBuilder(command)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (!process.waitFor(DOCKER_COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return false;
+            }
+            return process.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Runs {@code source | sink} and fails unless both sides exit with 0.
+     */
+    private void pipe(ProcessBuilder source, ProcessBuilder sink) throws IOException {
+        source.redirectError(ProcessBuilder.Redirect.DISCARD);
+        sink.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        sink.redirectError(ProcessBuilder.Redirect.DISCARD);
+
+        List<Process> processes = ProcessBuilder.startPipeline(List.of(source, sink));
+        try {
+            for (Process process : processes) {
+                if (!process.waitFor(DOCKER_COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    processes.forEach(Process::destroyForcibly);
+                    throw new IOException("Timed out copying files to or from sandbox");
+                }
+                if (process.exitValue() != 0) {
+                    throw new IOException("Copying files to or from sandbox failed");
+                }
+            }
+        } catch (InterruptedException e) {
+            processes.forEach(Process::destroyForcibly);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while copying files to or from sandbox", e);
+        }
+    }
+
+    private static class LanguagePool {
+        private final LanguageRunner language;
+        private final BlockingQueue<PooledContainer> idle = new LinkedBlockingQueue<>();
+        private final Set<PooledContainer> containers = ConcurrentHashMap.newKeySet();
+        private volatile int target;
+
+        LanguagePool(LanguageRunner language) {
+            this.language = language;
+        }
+    }
+
+    private static class PooledContainer {
+        private final String id;
+        private final LanguagePool pool;
+        private final AtomicInteger runs = new AtomicInteger();
+
+        PooledContainer(String id, LanguagePool pool) {
+            this.id = id;
+            this.pool = pool;
+        }
+    }
+
+    private class PooledSandbox implements Sandbox {
+
+        private final PooledContainer container;
+        private final Path hostWorkDir;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        PooledSandbox(PooledContainer container, Path hostWorkDir) {
+            this.container = container;
+            this.hostWorkDir = hostWorkDir;
+        }
+
+        @Override
+        public String getWorkDir() {
+            return CONTAINER_WORK_DIR;
+        }
+
+        @Override
+        public Process compile(List<String> command) throws IOException {
+            container.runs.incrementAndGet();
+            return dockerExec(container, true, command).start();
+        }
+
+        @Override
+        public void saveArtifacts() throws IOException {
+            pipe(dockerExec(container, false, List.of("tar", "-cf", "-", "-C", CONTAINER_WORK_DIR, ".")),
+                    new ProcessBuilder("tar", "-xf", "-", "-C", hostWorkDir.toString()));
+        }
+
+        @Override
+        public Process run(List<String> command) throws IOException {
+            container.runs.incrementAndGet();
+            return dockerExec(container, true, command).start();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(container);
+            }
+        }
+    }
+}
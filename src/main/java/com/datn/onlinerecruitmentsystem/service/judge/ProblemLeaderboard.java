@@ -0,0 +1,213 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Best accepted submission of every user on one problem, ranked by runtime, then by the earliest
+ * submission time, then by user id. The entries sit in a treap that keeps the size of every subtree,
+ * so adding an entry, a user's rank and the first K entries all cost O(log n) (plus K).
+ */
+public class ProblemLeaderboard {
+
+    static final Comparator<Entry> ORDER = Comparator
+            .comparingInt((Entry e) -> e.getRuntimeMs() != null ? e.getRuntimeMs() : Integer.MAX_VALUE)
+            .thenComparing(Entry::getAcceptedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Entry::getUserId);
+
+    private final Map<Long, Entry> byUser = new HashMap<>();
+    private Node root;
+
+    /**
+     * Offers an accepted submission; it replaces the user's entry only if it ranks better.
+     * Returns whether the leaderboard changed.
+     */
+    public synchronized boolean offer(Entry entry) {
+        Entry current = byUser.get(entry.getUserId());
+        if (current != null && ORDER.compare(entry, current) >= 0) {
+            return false;
+        }
+        put(entry);
+        return true;
+    }
+
+    /**
+     * Sets the user's entry whether or not it ranks better, or drops the user when {@code entry} is null.
+     * Used when a rejudge changes the verdict of the submission the entry came from.
+     */
+    public synchronized void replace(Long userId, Entry entry) {
+        Entry current = byUser.remove(userId);
+        if (current != null) {
+            root = delete(root, current);
+        }
+        if (entry != null) {
+            put(entry);
+        }
+    }
+
+    public synchronized Entry get(Long userId) {
+        return byUser.get(userId);
+    }
+
+    /**
+     * 1-based rank of the user, or 0 when the user has no accepted submission.
+     */
+    public synchronized int rankOf(Long userId) {
+        Entry entry = byUser.get(userId);
+        if (entry == null) {
+            return 0;
+        }
+        int less = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = ORDER.compare(entry, node.entry);
+            if (cmp == 0) {
+                return less + size(node.left) + 1;
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                less += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        throw new IllegalStateException("Leaderboard entry of user " + userId + " is missing from the tree");
+    }
+
+    public synchronized List<Entry> top(int k) {
+        List<Entry> result = new ArrayList<>(Math.min(k, size(root)));
+        collect(root, k, result);
+        return result;
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    private void put(Entry entry) {
+        Entry previous = byUser.put(entry.getUserId(), entry);
+        if (previous != null) {
+            root = delete(root, previous);
+        }
+        root = insert(root, new Node(entry));
+    }
+
+    private static void collect(Node node, int k, List<Entry> result) {
+        if (node == null || result.size() >= k) {
+            return;
+        }
+        collect(node.left, k, result);
+        if (result.size() < k) {
+            result.add(node.entry);
+            collect(node.right, k, result);
+        }
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (ORDER.compare(added.entry, node.entry) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node delete(Node node, Entry entry) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = ORDER.compare(entry, node.entry);
+        if (cmp < 0) {
+            node.left = delete(node.left, entry);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, entry);
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static class Node {
+        private final Entry entry;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        Node(Entry entry) {
+            this.entry = entry;
+        }
+
+        private void update() {
+            size = size(left) + size(right) + 1;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final Long userId;
+        private final String userName;
+        private final Long submissionId;
+        private final Integer runtimeMs;
+        private final LocalDateTime acceptedAt;
+    }
+}
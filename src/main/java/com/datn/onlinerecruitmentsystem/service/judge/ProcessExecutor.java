@@ -0,0 +1,197 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+
+/**
+ * Drives a sandboxed process: feeds stdin, drains stdout and stderr at the same time
+ * and enforces the time limit and the output size limit.
+ * Stdout goes straight into an {@link OutputConsumer} (usually an {@link OutputChecker}),
+ * it is never collected in memory; stderr keeps only its first {@code judge.output.max-stderr-bytes}
+ * and its last kilobyte, where the {@link ResourceMeter} reports usage.
+ */
+@Component
+public class ProcessExecutor {
+
+    private static final int STDERR_TAIL_BYTES = 1024;
+
+    @Value("${judge.output.max-bytes:16777216}")
+    private long maxOutputBytes;
+
+    @Value("${judge.output.max-stderr-bytes:65536}")
+    private int maxStderrBytes;
+
+    private final ExecutorService ioExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "judge-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void shutdown() {
+        ioExecutor.shutdownNow();
+    }
+
+    /**
+     * Reads the program's stdout. Returning false means the output is already known to be wrong,
+     * the process is then killed without waiting for it to finish.
+     */
+    @FunctionalInterface
+    public interface OutputConsumer {
+        boolean accept(Reader output) throws IOException;
+    }
+
+    public ExecutionResult execute(Process process, InputStream input, long timeoutMillis, OutputConsumer stdoutConsumer)
+            throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        ioExecutor.execute(() -> feed(process, input));
+        Future<String> stderr = ioExecutor.submit(() -> drain(process.getErrorStream()));
+        LimitedInputStream limitedStdout = new LimitedInputStream(process.getInputStream(), maxOutputBytes);
+        Future<Boolean> stdout = ioExecutor.submit(() -> stdoutConsumer.accept(
+                new InputStreamReader(limitedStdout, StandardCharsets.UTF_8)));
+
+        boolean accepted;
+        try {
+            accepted = stdout.get(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            process.destroyForcibly();
+            return new ExecutionResult(-1, true, false, false, false, collect(stderr));
+        } catch (ExecutionException e) {
+            process.destroyForcibly();
+            if (e.getCause() instanceof OutputLimitExceededException) {
+                return new ExecutionResult(-1, false, true, false, false, collect(stderr));
+            }
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        }
+
+        if (!accepted && !limitedStdout.endReached) {
+            process.destroyForcibly();
+            return new ExecutionResult(-1, false, false, false, true, collect(stderr));
+        }
+
+        if (!process.waitFor(remaining(deadline), TimeUnit.NANOSECONDS)) {
+            process.destroyForcibly();
+            return new ExecutionResult(-1, true, false, accepted, false, collect(stderr));
+        }
+        return new ExecutionResult(process.exitValue(), false, false, accepted, false, collect(stderr));
+    }
+
+    private long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private void feed(Process process, InputStream input) {
+        try (OutputStream os = process.getOutputStream(); InputStream in = input) {
+            if (in != null) {
+                in.transferTo(os);
+            }
+        } catch (IOException e) {
+            // The program exited (or was killed) without reading all of its input
+        }
+    }
+
+    private String drain(InputStream stream) throws IOException {
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        byte[] tail = new byte[STDERR_TAIL_BYTES];
+        long total = 0;
+        byte[] buffer = new byte[8192];
+        try (stream) {
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                int keep = Math.min(read, maxStderrBytes - captured.size());
+                if (keep > 0) {
+                    captured.write(buffer, 0, keep);
+                }
+                for (int i = Math.max(0, read - STDERR_TAIL_BYTES); i < read; i++) {
+                    tail[(int) ((total + i) % STDERR_TAIL_BYTES)] = buffer[i];
+                }
+                total += read;
+            }
+        } catch (IOException e) {
+            // Stream closed because the process was killed, keep what we have
+        }
+
+        long dropped = total - captured.size();
+        if (dropped > 0) {
+            int tailLength = (int) Math.min(dropped, STDERR_TAIL_BYTES);
+            captured.write('\n');
+            for (long i = total - tailLength; i < total; i++) {
+                captured.write(tail[(int) (i % STDERR_TAIL_BYTES)]);
+            }
+        }
+        return captured.toString(StandardCharsets.UTF_8);
+    }
+
+    private String collect(Future<String> stderr) throws InterruptedException {
+        try {
+            return stderr.get(1, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            stderr.cancel(true);
+            return "";
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ExecutionResult {
+        private final int exitCode;
+        private final boolean timedOut;
+        private final boolean outputLimitExceeded;
+        private final boolean outputAccepted;
+        /** The consumer rejected the output and the process was killed before it finished. */
+        private final boolean stoppedEarly;
+        private final String stderr;
+    }
+
+    static class OutputLimitExceededException extends IOException {
+        OutputLimitExceededException() {
+            super("Output limit exceeded");
+        }
+    }
+
+    /**
+     * Fails with {@link OutputLimitExceededException} once more than {@code limit} bytes were read.
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+        private volatile boolean endReached;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                endReached = true;
+            } else if (--remaining < 0) {
+                throw new OutputLimitExceededException();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read == -1) {
+                endReached = true;
+            } else if (read > 0) {
+                remaining -= read;
+                if (remaining < 0) {
+                    throw new OutputLimitExceededException();
+                }
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class PythonLanguageRunner implements LanguageRunner {
+
+    @Value("${judge.languages.python.image:python:3.12-alpine}")
+    private String image;
+
+    @Override
+    public String getLanguage() {
+        return "PYTHON";
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return List.of("PYTHON3", "PY");
+    }
+
+    @Override
+    public String getImage() {
+        return image;
+    }
+
+    @Override
+    public String getSourceFileName() {
+        return "main.py";
+    }
+
+    @Override
+    public List<String> compileCommand(String workDir) {
+        // Nothing to build, but syntax errors are reported as a compile error rather than on every test
+        return List.of("python3", "-m", "py_compile", workDir + "/main.py");
+    }
+
+    @Override
+    public List<String> runCommand(String workDir, int memoryLimitMb) {
+        return LanguageRunner.withAddressSpaceLimit(memoryLimitMb, List.of("python3", workDir + "/main.py"));
+    }
+
+    @Override
+    public List<String> warmUpCommand() {
+        return List.of("python3", "-c", "import sys, math, collections, heapq, bisect, itertools, functools");
+    }
+
+    @Override
+    public boolean isOutOfMemory(String stderr) {
+        return stderr.contains("MemoryError");
+    }
+}
@@ -0,0 +1,75 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the CPU time and peak RSS of a sandboxed run without trusting the program itself.
+ * The command is wrapped in a shell that sets RLIMIT_CPU as a hard stop and runs it under
+ * {@code /usr/bin/time} (busybox in the judge images), which reports the rusage of the finished
+ * child on the last line of stderr. Where time is not installed (local mode on most hosts),
+ * the run is not metered and the wall time stands in for the CPU time; pooled sandboxes check
+ * for it with {@link #probeCommand()} and refuse images without it.
+ */
+public final class ResourceMeter {
+
+    private static final String MARKER = "__judge_usage__";
+    private static final String TIME = "/usr/bin/time";
+
+    private static final String SCRIPT = "ulimit -t \"$1\"; shift; "
+            + "if [ -x " + TIME + " ]; then exec " + TIME + " -f '" + MARKER + " %U %S %M' \"$@\"; fi; "
+            + "exec \"$@\"";
+
+    private ResourceMeter() {
+    }
+
+    /**
+     * Wraps a run command. The CPU rlimit is rounded up and given one spare second, the verdict is
+     * decided on the measured time, the rlimit only stops programs that would otherwise spin until
+     * the wall clock timeout.
+     */
+    public static List<String> wrap(List<String> command, long cpuLimitMillis) {
+        long rlimitSeconds = (cpuLimitMillis + 999) / 1000 + 1;
+        List<String> wrapped = new ArrayList<>(List.of("sh", "-c", SCRIPT, "sh", String.valueOf(rlimitSeconds)));
+        wrapped.addAll(command);
+        return wrapped;
+    }
+
+    /**
+     * A command that fails where runs could not be metered.
+     */
+    public static List<String> probeCommand() {
+        return List.of("test", "-x", TIME);
+    }
+
+    /**
+     * Reads the usage reported by the wrapper from the stderr of a finished run.
+     */
+    public static Usage measure(String stderr, long wallTimeMillis) {
+        int marker = stderr != null ? stderr.lastIndexOf(MARKER) : -1;
+        if (marker >= 0) {
+            int end = stderr.indexOf('\n', marker);
+            String[] fields = stderr.substring(marker + MARKER.length(), end >= 0 ? end : stderr.length())
+                    .trim().split("\\s+");
+            try {
+                long cpuMillis = Math.round((Double.parseDouble(fields[0]) + Double.parseDouble(fields[1])) * 1000);
+                return new Usage(cpuMillis, wallTimeMillis, Long.parseLong(fields[2]));
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                // Truncated or garbled line, fall through to the unmetered usage
+            }
+        }
+        return new Usage(wallTimeMillis, wallTimeMillis, null);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Usage {
+        private final long cpuTimeMillis;
+        private final long wallTimeMillis;
+        /** Peak resident set size in KB, null when the run was not metered. */
+        private final Long peakRssKb;
+    }
+}
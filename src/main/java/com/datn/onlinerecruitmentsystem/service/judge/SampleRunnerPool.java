@@ -0,0 +1,373 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import com.datn.onlinerecruitmentsystem.exception.JudgeQueueFullException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Keeps {@code judge.samples.pool-size} {@link SampleRunnerWorker} JVMs started and warmed up, so running
+ * the sample tests costs one in-memory compile and the runs themselves, not a JVM start or a container.
+ * Each worker serves a single request and is then destroyed; a replacement is forked right away.
+ * <p>
+ * With {@code judge.samples.mode=docker} every worker JVM runs in its own container, locked down like the
+ * judge sandboxes: no network, a read-only root filesystem, no capabilities, an unprivileged user, and
+ * bounded memory and processes. {@code local} forks plain JVMs on the host, for tests and development only.
+ */
+@Component
+public class SampleRunnerPool {
+
+    private static final long COMPILE_TIMEOUT_MILLIS = 10_000;
+    private static final String SANDBOX_USER = "65534:65534";
+    private static final String CONTAINER_CLASS_DIR = "/sample-runner";
+
+    @Value("${judge.samples.mode:docker}")
+    private String mode;
+
+    // Must be a JDK at least as new as the application's bytecode, the worker compiles with javac
+    @Value("${judge.samples.image:${judge.languages.java.image:${judge.sandbox.image:eclipse-temurin:17-jdk-alpine}}}")
+    private String image;
+
+    @Value("${judge.samples.pool-size:2}")
+    private int poolSize;
+
+    @Value("${judge.samples.worker-heap-mb:256}")
+    private int workerHeapMb;
+
+    @Value("${judge.samples.acquire-timeout-seconds:5}")
+    private long acquireTimeoutSeconds;
+
+    private final BlockingQueue<Worker> ready = new LinkedBlockingQueue<>();
+    // Workers still warming up, killed too on shutdown
+    private final Set<Worker> starting = ConcurrentHashMap.newKeySet();
+    private final ExecutorService spawner = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "sample-runner-spawn");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sample-runner-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean shuttingDown;
+    private Path classDir;
+    private Path workDir;
+
+    @PostConstruct
+    public void init() throws IOException {
+        // Readable by the container's unprivileged user, which the classes are mounted for
+        classDir = isLocal() ? Files.createTempDirectory("sample-runner-classes") : Files.createTempDirectory(
+                "sample-runner-classes", PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwxr-xr-x")));
+        workDir = Files.createTempDirectory("sample-runner-work");
+        copyWorkerClasses(SampleRunnerWorker.class);
+        for (int i = 0; i < poolSize; i++) {
+            spawnAsync();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        spawner.shutdownNow();
+        watchdog.shutdownNow();
+        starting.forEach(this::destroy);
+        Worker worker;
+        while ((worker = ready.poll()) != null) {
+            destroy(worker);
+        }
+        FileSystemUtils.deleteRecursively(classDir.toFile());
+        FileSystemUtils.deleteRecursively(workDir.toFile());
+    }
+
+    /**
+     * Compiles the source and runs it on every input, in one worker unless the program exits the JVM:
+     * the inputs after that one then go to another worker.
+     * Throws {@link JudgeQueueFullException} when no worker becomes free in time.
+     */
+    public Result run(String source, List<String> inputs, int timeLimitMillis, int maxOutputBytes)
+            throws IOException, InterruptedException {
+        List<TestOutput> tests = new ArrayList<>(inputs.size());
+        do {
+            Result part = runInWorker(source, inputs.subList(tests.size(), inputs.size()), timeLimitMillis, maxOutputBytes);
+            if (!part.isCompiled()) {
+                return part;
+            }
+            tests.addAll(part.getTests());
+        } while (tests.size() < inputs.size());
+        return new Result(true, null, tests);
+    }
+
+    /**
+     * Runs the inputs in one worker, up to and including the first one that exits the JVM.
+     */
+    private Result runInWorker(String source, List<String> inputs, int timeLimitMillis, int maxOutputBytes)
+            throws IOException, InterruptedException {
+        Worker worker = ready.poll(acquireTimeoutSeconds, TimeUnit.SECONDS);
+        if (worker == null) {
+            throw new JudgeQueueFullException("All sample runners are busy, please retry later");
+        }
+        spawnAsync();
+
+        long deadline = COMPILE_TIMEOUT_MILLIS + 3L * timeLimitMillis * inputs.size() + 1_000;
+        ScheduledFuture<?> kill = watchdog.schedule(() -> destroy(worker), deadline, TimeUnit.MILLISECONDS);
+        try {
+            DataOutputStream out = worker.out;
+            SampleRunnerWorker.writeBytes(out, source.getBytes(StandardCharsets.UTF_8));
+            out.writeInt(timeLimitMillis);
+            out.writeInt(maxOutputBytes);
+            out.writeInt(inputs.size());
+            for (String input : inputs) {
+                SampleRunnerWorker.writeBytes(out, input.getBytes(StandardCharsets.UTF_8));
+            }
+            out.flush();
+
+            DataInputStream in = worker.in;
+            if (!in.readBoolean()) {
+                return new Result(false, new String(SampleRunnerWorker.readBytes(in), StandardCharsets.UTF_8), List.of());
+            }
+            int count = in.readInt();
+            List<TestOutput> tests = new ArrayList<>(count);
+            while (tests.size() < count) {
+                TestOutput test;
+                try {
+                    test = readTestOutput(in);
+                } catch (EOFException e) {
+                    // The JVM died without reporting (Runtime.halt, killed by the watchdog or the container)
+                    tests.add(new TestOutput(SampleRunnerWorker.RUNTIME_ERROR, 0, "",
+                            "Sample runner stopped, exit code " + exitCode(worker.process)));
+                    while (tests.size() < count) {
+                        tests.add(new TestOutput(SampleRunnerWorker.SKIPPED, 0, "", ""));
+                    }
+                    break;
+                }
+                if (test.getStatus() == SampleRunnerWorker.EXITED) {
+                    int exitCode = exitCode(worker.process);
+                    tests.add(exitCode == 0
+                            ? new TestOutput(SampleRunnerWorker.OK, test.getCpuMillis(), test.getStdout(), test.getStderr())
+                            : new TestOutput(SampleRunnerWorker.RUNTIME_ERROR, test.getCpuMillis(), test.getStdout(),
+                                    test.getStderr() + "Exit code " + exitCode + "\n"));
+                    break;
+                }
+                tests.add(test);
+            }
+            return new Result(true, null, tests);
+        } catch (EOFException e) {
+            throw new IOException("Sample runner stopped before answering", e);
+        } finally {
+            kill.cancel(false);
+            destroy(worker);
+        }
+    }
+
+    private static TestOutput readTestOutput(DataInputStream in) throws IOException {
+        byte status = in.readByte();
+        long cpuMillis = in.readLong();
+        String stdout = new String(SampleRunnerWorker.readBytes(in), StandardCharsets.UTF_8);
+        String stderr = new String(SampleRunnerWorker.readBytes(in), StandardCharsets.UTF_8);
+        return new TestOutput(status, cpuMillis, stdout, stderr);
+    }
+
+    private static int exitCode(Process process) throws InterruptedException {
+        return process.waitFor(5, TimeUnit.SECONDS) ? process.exitValue() : -1;
+    }
+
+    private void spawnAsync() {
+        if (shuttingDown) {
+            return;
+        }
+        spawner.execute(() -> {
+            while (!shuttingDown) {
+                try {
+                    Worker worker = spawn();
+                    ready.put(worker);
+                    if (shuttingDown && ready.remove(worker)) {
+                        destroy(worker);
+                    }
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    if (shuttingDown) {
+                        return;
+                    }
+                    System.err.println("Could not start sample runner: " + e);
+                    try {
+                        TimeUnit.SECONDS.sleep(5);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        });
+    }
+
+    private Worker spawn() throws IOException {
+        String containerName = isLocal() ? null : "sample-runner-" + UUID.randomUUID();
+        ProcessBuilder builder = new ProcessBuilder(workerCommand(containerName))
+                .redirectError(ProcessBuilder.Redirect.DISCARD);
+        if (containerName == null) {
+            builder.directory(workDir.toFile());
+            builder.environment().clear();
+        }
+        Process process = builder.start();
+
+        Worker worker = new Worker(process, containerName,
+                new DataInputStream(new BufferedInputStream(process.getInputStream())),
+                new DataOutputStream(new BufferedOutputStream(process.getOutputStream())));
+        starting.add(worker);
+        ScheduledFuture<?> kill = null;
+        try {
+            kill = watchdog.schedule(() -> destroy(worker), 60, TimeUnit.SECONDS);
+            if (worker.in.readInt() != SampleRunnerWorker.READY) {
+                throw new IOException("Unexpected output from sample runner");
+            }
+            return worker;
+        } catch (IOException | RuntimeException e) {
+            destroy(worker);
+            throw e;
+        } finally {
+            starting.remove(worker);
+            if (kill != null) {
+                kill.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Command line of a worker JVM: on the host in local mode, otherwise in a fresh container with the
+     * worker classes mounted read-only.
+     */
+    List<String> workerCommand(String containerName) {
+        List<String> command = new ArrayList<>();
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = classDir.toString();
+        if (containerName != null) {
+            String memory = (workerHeapMb + 192) + "m";
+            command.addAll(List.of(
+                    "docker", "run", "-i", "--rm",
+                    "--name", containerName,
+                    "--label", "judge.sandbox=samples",
+                    "--network", "none",
+                    "--read-only",
+                    "--tmpfs", "/tmp:rw,mode=1777,size=64m",
+                    "--memory", memory,
+                    "--memory-swap", memory,
+                    "--cpus", "1",
+                    "--pids-limit", "128",
+                    "--cap-drop", "ALL",
+                    "--security-opt", "no-new-privileges",
+                    "-u", SANDBOX_USER,
+                    "-w", "/tmp",
+                    "-v", classDir + ":" + CONTAINER_CLASS_DIR + ":ro",
+                    image));
+            java = "java";
+            classPath = CONTAINER_CLASS_DIR;
+        }
+        command.addAll(List.of(
+                java,
+                "-Xmx" + workerHeapMb + "m",
+                "-XX:+UseSerialGC",
+                "-XX:TieredStopAtLevel=1",
+                "-XX:ActiveProcessorCount=1",
+                "-XX:+DisplayVMOutputToStderr",
+                "-Dfile.encoding=UTF-8",
+                "-cp", classPath,
+                SampleRunnerWorker.class.getName()));
+        return command;
+    }
+
+    /**
+     * Kills the worker. Killing the docker client does not stop its container, so that is removed too.
+     */
+    private void destroy(Worker worker) {
+        worker.process.destroyForcibly();
+        if (worker.containerName == null) {
+            return;
+        }
+        Runnable remove = () -> {
+            try {
+                new ProcessBuilder("docker", "rm", "-f", worker.containerName)
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.DISCARD)
+                        .start().waitFor(30, TimeUnit.SECONDS);
+            } catch (IOException e) {
+                System.err.println("Could not remove sample runner container " + worker.containerName + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        if (shuttingDown) {
+            remove.run();
+        } else {
+            spawner.execute(remove);
+        }
+    }
+
+    private boolean isLocal() {
+        return "local".equals(mode);
+    }
+
+    /**
+     * Copies the worker's class files (nested classes included) out of the application,
+     * which may be a nested jar the worker JVM could not put on its classpath.
+     */
+    private void copyWorkerClasses(Class<?> type) throws IOException {
+        String resource = type.getName().replace('.', '/') + ".class";
+        Path target = classDir.resolve(resource);
+        Files.createDirectories(target.getParent());
+        try (InputStream in = type.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Class file not found: " + resource);
+            }
+            Files.copy(in, target);
+        }
+        for (Class<?> nested : type.getDeclaredClasses()) {
+            copyWorkerClasses(nested);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Worker {
+        private final Process process;
+        // Null in local mode
+        private final String containerName;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private final boolean compiled;
+        private final String compileOutput;
+        private final List<TestOutput> tests;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TestOutput {
+        /** One of the status constants of {@link SampleRunnerWorker}. */
+        private final byte status;
+        private final long cpuMillis;
+        private final String stdout;
+        private final String stderr;
+    }
+}
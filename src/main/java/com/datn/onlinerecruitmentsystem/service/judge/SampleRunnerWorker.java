@@ -0,0 +1,395 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Main class of a sample runner worker JVM, forked ahead of time by {@link SampleRunnerPool}.
+ * Depends on the JDK only: its class files are copied out of the application and run on their own classpath.
+ * <p>
+ * A worker warms up javac, reports ready and then serves exactly one request over stdin/stdout:
+ * compile the source in memory, then run Main on each input. The JVM itself is the unit of isolation:
+ * SampleRunnerPool starts it in a locked-down container and throws it away afterwards, whatever the
+ * program left behind. When the program calls System.exit, a shutdown hook reports the running input as
+ * {@link #EXITED} and the pool runs the remaining inputs in another worker.
+ */
+public final class SampleRunnerWorker {
+
+    public static final int READY = 0x53414d50;
+
+    public static final byte OK = 0;
+    public static final byte RUNTIME_ERROR = 1;
+    public static final byte TIME_LIMIT_EXCEEDED = 2;
+    public static final byte MEMORY_LIMIT_EXCEEDED = 3;
+    public static final byte OUTPUT_LIMIT_EXCEEDED = 4;
+    public static final byte SKIPPED = 5;
+    /** The program called System.exit; the pool turns this into OK or RUNTIME_ERROR by the exit code. */
+    public static final byte EXITED = 6;
+
+    private static final int MAX_STDERR_BYTES = 4096;
+    private static final long USER_STACK_BYTES = 256L << 20;
+
+    private static final String WARM_UP_SOURCE = "import java.util.*;\nimport java.io.*;\n"
+            + "public class Main { public static void main(String[] args) throws IOException {\n"
+            + "  Scanner scanner = new Scanner(System.in);\n"
+            + "  BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));\n"
+            + "  List<Integer> list = new ArrayList<>(); list.add(1);\n"
+            + "  System.out.println(String.format(\"%d\", list.get(0)) + reader + scanner);\n"
+            + "} }\n";
+
+    // Guards the results written to the pool, against the shutdown hook that runs when user code exits
+    private static final Object REPORT_LOCK = new Object();
+    private static boolean exiting;
+    private static volatile RunningTest current;
+
+    private SampleRunnerWorker() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(FileDescriptor.in)));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No system Java compiler, the worker must run on a JDK");
+        }
+        compile(compiler, WARM_UP_SOURCE, new StringWriter());
+        out.writeInt(READY);
+        out.flush();
+
+        String source = new String(readBytes(in), StandardCharsets.UTF_8);
+        int timeLimitMillis = in.readInt();
+        int maxOutputBytes = in.readInt();
+        int count = in.readInt();
+        List<byte[]> inputs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            inputs.add(readBytes(in));
+        }
+
+        StringWriter diagnostics = new StringWriter();
+        Map<String, byte[]> classes = compile(compiler, source, diagnostics);
+        out.writeBoolean(classes != null);
+        if (classes == null) {
+            writeBytes(out, diagnostics.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            Runtime.getRuntime().halt(0);
+        }
+
+        out.writeInt(count);
+        out.flush();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> reportExit(out)));
+        boolean stopped = false;
+        for (byte[] input : inputs) {
+            if (stopped) {
+                report(out, SKIPPED, 0, new byte[0], new byte[0]);
+                continue;
+            }
+            stopped = runTest(out, classes, input, timeLimitMillis, maxOutputBytes);
+        }
+        synchronized (REPORT_LOCK) {
+            if (!exiting) {
+                Runtime.getRuntime().halt(0);
+            }
+        }
+        // User code is exiting the JVM, which must end with its exit code
+        Thread.currentThread().join();
+    }
+
+    /**
+     * Runs Main once in a fresh class loader, so static state does not carry over between inputs.
+     * Returns true when the JVM can no longer be trusted to run further inputs (a thread is still
+     * spinning, the heap ran out, or user code is exiting it).
+     */
+    private static boolean runTest(DataOutputStream out, Map<String, byte[]> classes, byte[] input,
+                                   int timeLimitMillis, int maxOutputBytes)
+            throws IOException, InterruptedException {
+        BoundedOutputStream stdout = new BoundedOutputStream(maxOutputBytes);
+        BoundedOutputStream stderr = new BoundedOutputStream(MAX_STDERR_BYTES);
+        PrintStream userOut = new PrintStream(stdout, false, StandardCharsets.UTF_8);
+        PrintStream userErr = new PrintStream(stderr, true, StandardCharsets.UTF_8);
+        System.setIn(new ByteArrayInputStream(input));
+        System.setOut(userOut);
+        System.setErr(userErr);
+
+        UserProgram program = new UserProgram(new UserClassLoader(classes));
+        Thread thread = new Thread(null, program, "main", USER_STACK_BYTES);
+        thread.setDaemon(true);
+        current = new RunningTest(thread, stdout, stderr, userOut);
+        thread.start();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long cpuLimitNanos = TimeUnit.MILLISECONDS.toNanos(timeLimitMillis);
+        long wallDeadline = System.nanoTime() + 3 * cpuLimitNanos;
+        boolean timedOut = false;
+        while (thread.isAlive()) {
+            thread.join(20);
+            if (thread.isAlive() && (threads.getThreadCpuTime(thread.getId()) > cpuLimitNanos
+                    || System.nanoTime() > wallDeadline)) {
+                timedOut = true;
+                break;
+            }
+        }
+        userOut.flush();
+
+        byte status;
+        long cpuMillis;
+        if (timedOut) {
+            status = TIME_LIMIT_EXCEEDED;
+            cpuMillis = timeLimitMillis;
+        } else {
+            cpuMillis = TimeUnit.NANOSECONDS.toMillis(program.cpuNanos);
+            if (program.failure instanceof OutOfMemoryError) {
+                status = MEMORY_LIMIT_EXCEEDED;
+            } else if (stdout.overflowed) {
+                status = OUTPUT_LIMIT_EXCEEDED;
+            } else if (program.failure != null) {
+                program.failure.printStackTrace(userErr);
+                status = RUNTIME_ERROR;
+            } else {
+                status = cpuMillis > timeLimitMillis ? TIME_LIMIT_EXCEEDED : OK;
+            }
+        }
+        boolean reported = report(out, status, cpuMillis, stdout.toByteArray(), stderr.toByteArray());
+        return !reported || timedOut || status == MEMORY_LIMIT_EXCEEDED;
+    }
+
+    /**
+     * Writes the result of the running input, unless user code is already exiting the JVM and the shutdown
+     * hook reported it instead. Returns whether it was written.
+     */
+    private static boolean report(DataOutputStream out, byte status, long cpuMillis, byte[] stdout, byte[] stderr)
+            throws IOException {
+        synchronized (REPORT_LOCK) {
+            if (exiting) {
+                return false;
+            }
+            writeResult(out, status, cpuMillis, stdout, stderr);
+            out.flush();
+            current = null;
+            return true;
+        }
+    }
+
+    /**
+     * Shutdown hook: user code called System.exit (or Runtime.exit) while an input ran.
+     */
+    private static void reportExit(DataOutputStream out) {
+        synchronized (REPORT_LOCK) {
+            exiting = true;
+            RunningTest test = current;
+            if (test == null) {
+                return;
+            }
+            test.userOut.flush();
+            long cpuNanos = ManagementFactory.getThreadMXBean().getThreadCpuTime(test.thread.getId());
+            try {
+                writeResult(out, test.stdout.overflowed ? OUTPUT_LIMIT_EXCEEDED : EXITED,
+                        TimeUnit.NANOSECONDS.toMillis(Math.max(cpuNanos, 0)),
+                        test.stdout.toByteArray(), test.stderr.toByteArray());
+                out.flush();
+            } catch (IOException e) {
+                // The pool is gone, nobody is waiting for the result
+            }
+        }
+    }
+
+    private static Map<String, byte[]> compile(JavaCompiler compiler, String source, Writer diagnostics)
+            throws IOException {
+        try (MemoryFileManager fileManager = new MemoryFileManager(
+                compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8))) {
+            JavaCompiler.CompilationTask task = compiler.getTask(diagnostics, fileManager,
+                    null, List.of("-proc:none", "-encoding", "UTF-8"), null, List.of(new SourceFile(source)));
+            return task.call() ? fileManager.classes : null;
+        }
+    }
+
+    private static void writeResult(DataOutputStream out, byte status, long cpuMillis, byte[] stdout, byte[] stderr)
+            throws IOException {
+        out.writeByte(status);
+        out.writeLong(cpuMillis);
+        writeBytes(out, stdout);
+        writeBytes(out, stderr);
+    }
+
+    static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static class RunningTest {
+        private final Thread thread;
+        private final BoundedOutputStream stdout;
+        private final BoundedOutputStream stderr;
+        private final PrintStream userOut;
+
+        RunningTest(Thread thread, BoundedOutputStream stdout, BoundedOutputStream stderr, PrintStream userOut) {
+            this.thread = thread;
+            this.stdout = stdout;
+            this.stderr = stderr;
+            this.userOut = userOut;
+        }
+    }
+
+    /**
+     * Runs Main.main on its own thread and records how it ended.
+     */
+    private static class UserProgram implements Runnable {
+        private final ClassLoader loader;
+        private volatile Throwable failure;
+        private volatile long cpuNanos;
+
+        UserProgram(ClassLoader loader) {
+            this.loader = loader;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Method main = loader.loadClass("Main").getMethod("main", String[].class);
+                main.invoke(null, (Object) new String[0]);
+            } catch (InvocationTargetException e) {
+                failure = e.getCause();
+            } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+                failure = new IllegalStateException("Expected a public class Main with public static void main(String[])");
+            } catch (Throwable t) {
+                failure = t;
+            } finally {
+                cpuNanos = ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+            }
+            System.out.flush();
+        }
+    }
+
+    private static class UserClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classes;
+
+        UserClassLoader(Map<String, byte[]> classes) {
+            // Platform loader as parent: user code sees the JDK, not the worker
+            super(ClassLoader.getPlatformClassLoader());
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        SourceFile(String source) {
+            super(URI.create("string:///Main.java"), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    private static class ClassFile extends SimpleJavaFileObject {
+        private final String className;
+        private final Map<String, byte[]> classes;
+
+        ClassFile(String className, Map<String, byte[]> classes) {
+            super(URI.create("mem:///" + className.replace('.', '/') + ".class"), Kind.CLASS);
+            this.className = className;
+            this.classes = classes;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ClassOutput(className, classes);
+        }
+    }
+
+    private static class ClassOutput extends ByteArrayOutputStream {
+        private final String className;
+        private final Map<String, byte[]> classes;
+
+        ClassOutput(String className, Map<String, byte[]> classes) {
+            this.className = className;
+            this.classes = classes;
+        }
+
+        @Override
+        public void close() {
+            classes.put(className, toByteArray());
+        }
+    }
+
+    private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final Map<String, byte[]> classes = new HashMap<>();
+
+        MemoryFileManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                   FileObject sibling) {
+            return new ClassFile(className, classes);
+        }
+    }
+
+    /**
+     * Keeps the first {@code limit} bytes and remembers whether more were written.
+     */
+    private static class BoundedOutputStream extends ByteArrayOutputStream {
+        private final int limit;
+        private volatile boolean overflowed;
+
+        BoundedOutputStream(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (count >= limit) {
+                overflowed = true;
+                return;
+            }
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            int keep = Math.min(len, limit - count);
+            if (keep < len) {
+                overflowed = true;
+            }
+            if (keep > 0) {
+                super.write(b, off, keep);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * An isolated environment holding one submission's work directory.
+ * Obtained from a {@link SandboxRunner} and closed when the caller is done with it.
+ */
+public interface Sandbox extends AutoCloseable {
+
+    /**
+     * Path of the submission work directory as seen by commands inside the sandbox.
+     */
+    String getWorkDir();
+
+    /**
+     * Starts a command that may write into the work directory (compilation).
+     */
+    Process compile(List<String> command) throws IOException;
+
+    /**
+     * Copies whatever compile() produced back to the host work directory,
+     * so that sandboxes acquired afterwards for the same directory see it.
+     */
+    void saveArtifacts() throws IOException;
+
+    /**
+     * Starts the user program. The work directory is read-only where the runner supports it.
+     */
+    Process run(List<String> command) throws IOException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,33 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Hands out sandboxes for the judge. Exactly one implementation is active,
+ * selected with {@code judge.sandbox.mode} (pool, oneshot or local).
+ */
+public interface SandboxRunner {
+
+    /**
+     * Returns a sandbox with the language's toolchain whose work directory contains a copy of
+     * (or a mount of) {@code hostWorkDir}.
+     */
+    Sandbox acquire(Path hostWorkDir, LanguageRunner language) throws IOException, InterruptedException;
+
+    /**
+     * Like {@link #acquire}, but returns null instead of waiting when no sandbox is free right now.
+     * Runners that start a sandbox per call never have to wait for one.
+     */
+    default Sandbox tryAcquire(Path hostWorkDir, LanguageRunner language) throws IOException, InterruptedException {
+        return acquire(hostWorkDir, language);
+    }
+
+    /**
+     * Keeps {@code extra} more warm sandboxes than usual until {@code until}, ahead of an expected burst.
+     * Runners without warm capacity have nothing to do.
+     */
+    default void reserveCapacity(int extra, LocalDateTime until) {
+    }
+}
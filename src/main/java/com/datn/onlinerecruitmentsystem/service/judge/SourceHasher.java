@@ -0,0 +1,44 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import com.datn.onlinerecruitmentsystem.entity.Problem;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Key of the verdict cache: SHA-256 of the normalized source, the language and the problem's
+ * test set version, which also changes with the problem's limits and checker. Two submissions with
+ * the same key are judged the same way.
+ */
+public final class SourceHasher {
+
+    private SourceHasher() {
+    }
+
+    public static String hash(String sourceCode, String language, Problem problem) {
+        long version = problem.getTestSetVersion() != null ? problem.getTestSetVersion() : 0L;
+        String key = normalize(sourceCode) + '\0'
+                + (language != null ? language.trim().toLowerCase(Locale.ROOT) : "") + '\0'
+                + problem.getId() + '\0' + version;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Unifies line endings only. Any other whitespace can matter to some language (indentation in Python,
+     * spaces inside a string literal anywhere), so it stays part of the key.
+     */
+    static String normalize(String sourceCode) {
+        if (sourceCode == null) {
+            return "";
+        }
+        return sourceCode.replace("\r\n", "\n").replace('\r', '\n');
+    }
+}
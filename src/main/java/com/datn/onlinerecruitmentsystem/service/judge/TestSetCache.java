@@ -0,0 +1,105 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of each problem's test set, stamped with the problem's test set version.
+ * An entry is only served for the exact version it was loaded at, so bumping the version on the
+ * problem retires it everywhere. Entries are weighed by their number of test cases and the least
+ * recently used ones are evicted once the total exceeds the limit.
+ */
+@Component
+public class TestSetCache {
+
+    @Value("${judge.test-set-cache.max-test-cases:20000}")
+    private long maxTestCases;
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedTestCases;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Returns the cached test set of a problem at the given version, or loads and caches it.
+     * The loader runs outside the lock, so two concurrent misses may both load.
+     */
+    public List<JudgeTestCase> get(Long problemId, long version, Supplier<List<JudgeTestCase>> loader) {
+        synchronized (this) {
+            Entry entry = entries.get(problemId);
+            if (entry != null && entry.version == version) {
+                hits.incrementAndGet();
+                return entry.testSet;
+            }
+        }
+
+        misses.incrementAndGet();
+        List<JudgeTestCase> testSet = List.copyOf(loader.get());
+        put(problemId, new Entry(version, testSet));
+        return testSet;
+    }
+
+    public synchronized void invalidate(Long problemId) {
+        Entry removed = entries.remove(problemId);
+        if (removed != null) {
+            cachedTestCases -= removed.testSet.size();
+        }
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits.get(), misses.get(), evictions.get(), entries.size(), cachedTestCases);
+    }
+
+    private synchronized void put(Long problemId, Entry entry) {
+        if (entry.testSet.size() > maxTestCases) {
+            return;
+        }
+        Entry current = entries.get(problemId);
+        // A slower load of an older version must not replace a newer one
+        if (current != null && current.version > entry.version) {
+            return;
+        }
+
+        invalidate(problemId);
+        entries.put(problemId, entry);
+        cachedTestCases += entry.testSet.size();
+
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (cachedTestCases > maxTestCases && eldest.hasNext()) {
+            Map.Entry<Long, Entry> evicted = eldest.next();
+            if (evicted.getKey().equals(problemId)) {
+                continue;
+            }
+            cachedTestCases -= evicted.getValue().testSet.size();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final long version;
+        private final List<JudgeTestCase> testSet;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int problems;
+        private final long testCases;
+    }
+}
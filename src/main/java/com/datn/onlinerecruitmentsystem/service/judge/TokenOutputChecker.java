@@ -0,0 +1,38 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import com.datn.onlinerecruitmentsystem.entity.Problem;
+import com.datn.onlinerecruitmentsystem.enums.CheckerType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Default checker: tokens and line breaks must match, extra spaces and trailing blank lines are ignored.
+ */
+@Component
+public class TokenOutputChecker implements OutputChecker {
+
+    @Override
+    public CheckerType getType() {
+        return CheckerType.TOKEN;
+    }
+
+    @Override
+    public boolean check(Reader expected, Reader actual, Problem problem) throws IOException {
+        return compare(new TokenReader(expected, true), new TokenReader(actual, true));
+    }
+
+    static boolean compare(TokenReader expected, TokenReader actual) throws IOException {
+        while (true) {
+            String expectedToken = expected.next();
+            String actualToken = actual.next();
+            if (expectedToken == null || actualToken == null) {
+                return expectedToken == null && actualToken == null;
+            }
+            if (!expectedToken.equals(actualToken)) {
+                return false;
+            }
+        }
+    }
+}
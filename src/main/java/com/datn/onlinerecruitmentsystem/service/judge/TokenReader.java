@@ -0,0 +1,65 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits a character stream into whitespace separated tokens without buffering the whole stream.
+ * In line-aware mode one or more line breaks between two tokens come out as a single {@link #NEWLINE}
+ * token, while leading and trailing blank lines are ignored.
+ */
+public class TokenReader {
+
+    public static final String NEWLINE = "\n";
+
+    private final BufferedReader reader;
+    private final boolean lineAware;
+    private final StringBuilder token = new StringBuilder();
+    private int pushedBack = -1;
+    private boolean started;
+
+    public TokenReader(Reader reader, boolean lineAware) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.lineAware = lineAware;
+    }
+
+    /**
+     * Returns the next token, or null at the end of the stream.
+     */
+    public String next() throws IOException {
+        boolean sawNewline = false;
+        int c = read();
+        while (c != -1 && Character.isWhitespace(c)) {
+            if (c == '\n') {
+                sawNewline = true;
+            }
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        if (lineAware && sawNewline && started) {
+            pushedBack = c;
+            return NEWLINE;
+        }
+
+        token.setLength(0);
+        while (c != -1 && !Character.isWhitespace(c)) {
+            token.append((char) c);
+            c = read();
+        }
+        pushedBack = c;
+        started = true;
+        return token.toString();
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,25 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import com.datn.onlinerecruitmentsystem.entity.Problem;
+import com.datn.onlinerecruitmentsystem.enums.CheckerType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Compares the token sequence only, any amount of whitespace (line breaks included) is a separator.
+ */
+@Component
+public class WhitespaceInsensitiveOutputChecker implements OutputChecker {
+
+    @Override
+    public CheckerType getType() {
+        return CheckerType.WHITESPACE_INSENSITIVE;
+    }
+
+    @Override
+    public boolean check(Reader expected, Reader actual, Problem problem) throws IOException {
+        return TokenOutputChecker.compare(new TokenReader(expected, false), new TokenReader(actual, false));
+    }
+}
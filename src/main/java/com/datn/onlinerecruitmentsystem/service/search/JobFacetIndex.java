@@ -0,0 +1,263 @@
+package com.datn.onlinerecruitmentsystem.service.search;
+
+import com.datn.onlinerecruitmentsystem.entity.Job;
+import com.datn.onlinerecruitmentsystem.enums.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet counts of the OPEN jobs. Every open job holds a slot, and every value of every facet field keeps
+ * a {@link BitSet} of the slots that have it, so the counts under a filter are bitset intersections and
+ * never touch the database. Freed slots are reused, which keeps the bitsets as long as the number of open
+ * jobs. JobService keeps it in step with its writes; {@link #replaceAll} reconciles it with the database.
+ */
+@Component
+public class JobFacetIndex {
+
+    public static final List<String> FIELDS = List.of("location", "category", "level", "workingTime");
+    private static final int LOCATION = 0;
+    private static final int CATEGORY = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final List<String[]> valuesBySlot = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final List<Map<String, BitSet>> postings = new ArrayList<>();
+    // Jobs written while a reconcile reads the database; their state here is newer than what it read
+    private Set<Long> touchedDuringReconcile;
+
+    public JobFacetIndex() {
+        for (int i = 0; i < FIELDS.size(); i++) {
+            postings.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds or replaces the job; a job that is not OPEN is removed instead.
+     */
+    public void index(Job job) {
+        lock.writeLock().lock();
+        try {
+            touch(job.getId());
+            if (job.getStatus() == JobStatus.OPEN) {
+                put(job.getId(), values(job.getLocation(), job.getCategory(), job.getLevel(), job.getWorkingTime()));
+            } else {
+                removeLocked(job.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long jobId) {
+        lock.writeLock().lock();
+        try {
+            touch(jobId);
+            removeLocked(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts a reconcile: writes from now on win over the database state passed to {@link #replaceAll}.
+     */
+    public void beginReconcile() {
+        lock.writeLock().lock();
+        try {
+            touchedDuringReconcile = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the content with the open jobs read from the database, except for jobs written since
+     * {@link #beginReconcile}. Returns how many jobs differed.
+     */
+    public int replaceAll(Collection<FacetValues> openJobs) {
+        lock.writeLock().lock();
+        try {
+            Set<Long> touched = touchedDuringReconcile != null ? touchedDuringReconcile : Set.of();
+            touchedDuringReconcile = null;
+            int changed = 0;
+            Set<Long> seen = new HashSet<>();
+            for (FacetValues job : openJobs) {
+                seen.add(job.getJobId());
+                if (touched.contains(job.getJobId())) {
+                    continue;
+                }
+                Integer slot = slots.get(job.getJobId());
+                String[] values = values(job.getLocation(), job.getCategory(), job.getLevel(), job.getWorkingTime());
+                if (slot == null || !Arrays.equals(valuesBySlot.get(slot), values)) {
+                    put(job.getJobId(), values);
+                    changed++;
+                }
+            }
+            for (Long jobId : new ArrayList<>(slots.keySet())) {
+                if (!seen.contains(jobId) && !touched.contains(jobId)) {
+                    removeLocked(jobId);
+                    changed++;
+                }
+            }
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Jobs per value of every facet field, most frequent first, among the open jobs in {@code jobIds}
+     * (all of them when null) that match the location and category filters. As usual for facets, a field's
+     * own filter is left out of its counts, so the other values of a filtered field keep their counts.
+     * Filters match like the search does: accent-insensitive "contains".
+     */
+    public Map<String, Map<String, Integer>> counts(Collection<Long> jobIds, String location, String category) {
+        lock.readLock().lock();
+        try {
+            BitSet base;
+            if (jobIds == null) {
+                base = (BitSet) live.clone();
+            } else {
+                base = new BitSet();
+                for (Long jobId : jobIds) {
+                    Integer slot = slots.get(jobId);
+                    if (slot != null) {
+                        base.set(slot);
+                    }
+                }
+            }
+            BitSet locationMatches = matching(LOCATION, location);
+            BitSet categoryMatches = matching(CATEGORY, category);
+
+            Map<String, Map<String, Integer>> result = new LinkedHashMap<>();
+            for (int field = 0; field < FIELDS.size(); field++) {
+                BitSet candidates = (BitSet) base.clone();
+                if (locationMatches != null && field != LOCATION) {
+                    candidates.and(locationMatches);
+                }
+                if (categoryMatches != null && field != CATEGORY) {
+                    candidates.and(categoryMatches);
+                }
+                List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+                for (Map.Entry<String, BitSet> posting : postings.get(field).entrySet()) {
+                    BitSet both = (BitSet) posting.getValue().clone();
+                    both.and(candidates);
+                    int count = both.cardinality();
+                    if (count > 0) {
+                        counts.add(Map.entry(posting.getKey(), count));
+                    }
+                }
+                counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()));
+                Map<String, Integer> values = new LinkedHashMap<>();
+                counts.forEach(entry -> values.put(entry.getKey(), entry.getValue()));
+                result.put(FIELDS.get(field), values);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet matching(int field, String filter) {
+        if (filter == null || filter.isBlank()) {
+            return null;
+        }
+        String folded = VietnameseAnalyzer.fold(filter.trim());
+        BitSet matches = new BitSet();
+        postings.get(field).forEach((value, bits) -> {
+            if (VietnameseAnalyzer.fold(value).contains(folded)) {
+                matches.or(bits);
+            }
+        });
+        return matches;
+    }
+
+    private void touch(Long jobId) {
+        if (touchedDuringReconcile != null) {
+            touchedDuringReconcile.add(jobId);
+        }
+    }
+
+    private void put(Long jobId, String[] values) {
+        removeLocked(jobId);
+        int slot = freeSlots.isEmpty() ? valuesBySlot.size() : freeSlots.pop();
+        if (slot == valuesBySlot.size()) {
+            valuesBySlot.add(values);
+        } else {
+            valuesBySlot.set(slot, values);
+        }
+        slots.put(jobId, slot);
+        live.set(slot);
+        for (int field = 0; field < values.length; field++) {
+            if (values[field] != null) {
+                postings.get(field).computeIfAbsent(values[field], v -> new BitSet()).set(slot);
+            }
+        }
+    }
+
+    private void removeLocked(Long jobId) {
+        Integer slot = slots.remove(jobId);
+        if (slot == null) {
+            return;
+        }
+        String[] values = valuesBySlot.get(slot);
+        for (int field = 0; field < values.length; field++) {
+            if (values[field] != null) {
+                BitSet bits = postings.get(field).get(values[field]);
+                bits.clear(slot);
+                if (bits.isEmpty()) {
+                    postings.get(field).remove(values[field]);
+                }
+            }
+        }
+        valuesBySlot.set(slot, null);
+        live.clear(slot);
+        freeSlots.push(slot);
+    }
+
+    private static String[] values(String location, String category, String level, String workingTime) {
+        String[] values = {location, category, level, workingTime};
+        for (int i = 0; i < values.length; i++) {
+            values[i] = values[i] == null || values[i].isBlank() ? null : values[i].trim();
+        }
+        return values;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class FacetValues {
+        private final Long jobId;
+        private final String location;
+        private final String category;
+        private final String level;
+        private final String workingTime;
+    }
+}
@@ -0,0 +1,211 @@
+package com.datn.onlinerecruitmentsystem.service.search;
+
+import com.datn.onlinerecruitmentsystem.entity.Job;
+import com.datn.onlinerecruitmentsystem.enums.JobStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index of the OPEN jobs over title, requirements and description, ranked with BM25.
+ * Title terms count {@link #TITLE_WEIGHT} times. Every query syllable must appear in a job for it to match;
+ * syllable pairs only add to the score. JobService keeps the index in step with its writes.
+ */
+@Component
+public class JobSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * Adds or replaces the job; a job that is not OPEN is removed instead.
+     */
+    public void index(Job job) {
+        if (job.getStatus() != JobStatus.OPEN) {
+            remove(job.getId());
+            return;
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : VietnameseAnalyzer.terms(job.getTitle())) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : VietnameseAnalyzer.terms(job.getRequirements())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        for (String term : VietnameseAnalyzer.terms(job.getDescription())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        Document document = new Document(frequencies, VietnameseAnalyzer.fold(job.getLocation()),
+                VietnameseAnalyzer.fold(job.getCategory()), job.getCreatedAt());
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(job.getId());
+            documents.put(job.getId(), document);
+            totalLength += document.length;
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(job.getId(), frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long jobId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the matching jobs, best first; equal scores go newest first. Location and category,
+     * when given, must appear in the job's (folded, so accent-insensitive) location and category.
+     */
+    public List<Long> search(String keyword, String location, String category) {
+        List<String> syllables = VietnameseAnalyzer.syllables(keyword);
+        if (syllables.isEmpty()) {
+            return List.of();
+        }
+        Set<String> required = new LinkedHashSet<>(syllables);
+        Set<String> terms = new LinkedHashSet<>(VietnameseAnalyzer.terms(keyword));
+        String locationFilter = location == null || location.isBlank() ? null : VietnameseAnalyzer.fold(location.trim());
+        String categoryFilter = category == null || category.isBlank() ? null : VietnameseAnalyzer.fold(category.trim());
+
+        lock.readLock().lock();
+        try {
+            // Candidates come from the rarest required syllable's posting list
+            Map<Long, Integer> rarest = null;
+            for (String syllable : required) {
+                Map<Long, Integer> posting = postings.get(syllable);
+                if (posting == null) {
+                    return List.of();
+                }
+                if (rarest == null || posting.size() < rarest.size()) {
+                    rarest = posting;
+                }
+            }
+
+            double averageLength = (double) totalLength / documents.size();
+            List<Scored> scored = new ArrayList<>();
+            for (Long jobId : rarest.keySet()) {
+                Document document = documents.get(jobId);
+                if (!matches(document, jobId, required, locationFilter, categoryFilter)) {
+                    continue;
+                }
+                double score = 0;
+                for (String term : terms) {
+                    Map<Long, Integer> posting = postings.get(term);
+                    Integer frequency = posting != null ? posting.get(jobId) : null;
+                    if (frequency != null) {
+                        double idf = Math.log(1 + (documents.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+                        double norm = K1 * (1 - B + B * document.length / averageLength);
+                        score += idf * frequency * (K1 + 1) / (frequency + norm);
+                    }
+                }
+                scored.add(new Scored(jobId, score, document.createdAt));
+            }
+            scored.sort(Comparator.comparingDouble((Scored s) -> -s.score)
+                    .thenComparing(s -> s.createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(s -> -s.jobId));
+            return scored.stream().map(s -> s.jobId).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean matches(Document document, Long jobId, Set<String> required,
+                            String locationFilter, String categoryFilter) {
+        if (locationFilter != null && !document.location.contains(locationFilter)) {
+            return false;
+        }
+        if (categoryFilter != null && !document.category.contains(categoryFilter)) {
+            return false;
+        }
+        for (String syllable : required) {
+            if (!postings.get(syllable).containsKey(jobId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeLocked(Long jobId) {
+        Document document = documents.remove(jobId);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length;
+        for (String term : document.frequencies.keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(jobId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static class Document {
+        private final Map<String, Integer> frequencies;
+        private final int length;
+        private final String location;
+        private final String category;
+        private final LocalDateTime createdAt;
+
+        Document(Map<String, Integer> frequencies, String location, String category, LocalDateTime createdAt) {
+            this.frequencies = frequencies;
+            this.length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+            this.location = location;
+            this.category = category;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static class Scored {
+        private final Long jobId;
+        private final double score;
+        private final LocalDateTime createdAt;
+
+        Scored(Long jobId, double score, LocalDateTime createdAt) {
+            this.jobId = jobId;
+            this.score = score;
+            this.createdAt = createdAt;
+        }
+    }
+}
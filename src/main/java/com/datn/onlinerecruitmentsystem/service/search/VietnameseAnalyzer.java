@@ -0,0 +1,61 @@
+package com.datn.onlinerecruitmentsystem.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Turns text into search terms. Vietnamese words are written as space separated syllables ("lập trình"),
+ * so every syllable is a term and so is every pair of adjacent syllables ("lap_trinh"), which ranks
+ * documents holding the words as written above those that only hold the syllables apart. Terms are
+ * lower-cased and folded to plain ASCII, so "lap trinh" finds "Lập trình".
+ */
+public final class VietnameseAnalyzer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+
+    private VietnameseAnalyzer() {
+    }
+
+    /**
+     * Lower-cases and strips the diacritics, đ included (it is a letter of its own, not d with a mark).
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd').replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Folded syllables in text order. '+' and '#' are kept inside tokens so "C++" and "C#" stay searchable.
+     */
+    public static List<String> syllables(String text) {
+        List<String> syllables = new ArrayList<>();
+        for (String token : NON_WORD.split(fold(text))) {
+            if (!token.isEmpty()) {
+                syllables.add(token);
+            }
+        }
+        return syllables;
+    }
+
+    /**
+     * Syllables followed by the pairs of adjacent syllables.
+     */
+    public static List<String> terms(String text) {
+        List<String> syllables = syllables(text);
+        List<String> terms = new ArrayList<>(syllables.size() * 2);
+        terms.addAll(syllables);
+        for (int i = 1; i < syllables.size(); i++) {
+            terms.add(syllables.get(i - 1) + "_" + syllables.get(i));
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,137 @@
+package com.datn.onlinerecruitmentsystem.service;
+
+import com.datn.onlinerecruitmentsystem.entity.Submission;
+import com.datn.onlinerecruitmentsystem.enums.SubmissionStatus;
+import com.datn.onlinerecruitmentsystem.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Several workers claiming from one database, each claim in its own transaction like on separate nodes.
+ */
+@DataJpaTest
+@Import(JudgeQueueService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {"judge.worker.lease-seconds=60", "judge.worker.max-attempts=3"})
+class JudgeQueueServiceTests {
+
+    @Autowired
+    private JudgeQueueService judgeQueueService;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @BeforeEach
+    void clear() {
+        submissionRepository.deleteAll();
+    }
+
+    private Long pending() {
+        Submission submission = new Submission();
+        submission.setSourceCode("class Main {}");
+        submission.setLanguage("java");
+        submission.setStatus(SubmissionStatus.PENDING);
+        return submissionRepository.save(submission).getId();
+    }
+
+    @Test
+    void concurrentWorkersNeverClaimTheSameSubmission() throws Exception {
+        Set<Long> submitted = new HashSet<>();
+        for (int i = 0; i < 60; i++) {
+            submitted.add(pending());
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for (String workerId : List.of("worker-a", "worker-b")) {
+                Callable<List<Long>> claimer = () -> {
+                    List<Long> claimed = new ArrayList<>();
+                    long deadline = System.currentTimeMillis() + 10_000;
+                    while (System.currentTimeMillis() < deadline
+                            && submissionRepository.countByStatus(SubmissionStatus.PENDING) > 0) {
+                        claimed.addAll(judgeQueueService.claim(workerId, 4));
+                    }
+                    return claimed;
+                };
+                results.add(workers.submit(claimer));
+            }
+
+            List<Long> claimedByA = results.get(0).get();
+            List<Long> claimedByB = results.get(1).get();
+            Set<Long> all = new HashSet<>(claimedByA);
+            all.addAll(claimedByB);
+            assertEquals(claimedByA.size() + claimedByB.size(), all.size(), "a submission was claimed twice");
+            assertEquals(submitted, all);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        for (Submission submission : submissionRepository.findAll()) {
+            assertEquals(SubmissionStatus.RUNNING, submission.getStatus());
+            assertEquals(1, submission.getAttempts());
+        }
+    }
+
+    @Test
+    void expiredLeaseIsReclaimedUntilMaxAttempts() {
+        Long id = pending();
+
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            String workerId = attempt % 2 == 1 ? "worker-a" : "worker-b";
+            assertEquals(List.of(id), judgeQueueService.claim(workerId, 10));
+            Submission claimed = submissionRepository.findById(id).orElseThrow();
+            assertEquals(workerId, claimed.getLeaseOwner());
+            assertEquals(attempt, claimed.getAttempts());
+
+            // A live lease keeps the submission away from the other worker
+            assertTrue(judgeQueueService.claim("worker-c", 10).isEmpty());
+
+            // The worker dies and its lease runs out
+            claimed.setLeaseExpiresAt(LocalDateTime.now().minusSeconds(1));
+            submissionRepository.save(claimed);
+        }
+
+        assertTrue(judgeQueueService.claim("worker-a", 10).isEmpty());
+        Submission abandoned = submissionRepository.findById(id).orElseThrow();
+        assertEquals(SubmissionStatus.SYSTEM_ERROR, abandoned.getStatus());
+        assertNull(abandoned.getLeaseOwner());
+    }
+
+    @Test
+    void requeuedSubmissionIsClaimedAfresh() {
+        Long id = pending();
+        judgeQueueService.claim("worker-a", 10);
+        assertNull(judgeQueueService.requeue(id), "a submission being judged is not requeued");
+
+        Submission judged = submissionRepository.findById(id).orElseThrow();
+        judged.setStatus(SubmissionStatus.WRONG_ANSWER);
+        judged.setLeaseOwner(null);
+        judged.setLeaseExpiresAt(null);
+        submissionRepository.save(judged);
+
+        assertEquals(SubmissionStatus.WRONG_ANSWER, judgeQueueService.requeue(id));
+        assertEquals(List.of(id), judgeQueueService.claim("worker-b", 10));
+        assertEquals(1, submissionRepository.findById(id).orElseThrow().getAttempts());
+    }
+}
@@ -0,0 +1,40 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JudgeTaskQueueTests {
+
+    @Test
+    void takesAssessmentTasksFirstThenInArrivalOrder() throws Exception {
+        JudgeTaskQueue queue = new JudgeTaskQueue(10, 0);
+        List<String> order = new ArrayList<>();
+        queue.offer(new JudgeTask(JudgeTask.PRIORITY_PRACTICE, () -> order.add("p1")));
+        queue.offer(new JudgeTask(JudgeTask.PRIORITY_ASSESSMENT, () -> order.add("a1")));
+        queue.offer(new JudgeTask(JudgeTask.PRIORITY_PRACTICE, () -> order.add("p2")));
+        queue.offer(new JudgeTask(JudgeTask.PRIORITY_ASSESSMENT, () -> order.add("a2")));
+
+        while (!queue.isEmpty()) {
+            queue.take().run();
+        }
+
+        assertEquals(List.of("a1", "a2", "p1", "p2"), order);
+    }
+
+    @Test
+    void keepsReservedSlotsForAssessmentTasks() {
+        JudgeTaskQueue queue = new JudgeTaskQueue(3, 1);
+
+        assertTrue(queue.offer(new JudgeTask(JudgeTask.PRIORITY_PRACTICE, () -> { })));
+        assertTrue(queue.offer(new JudgeTask(JudgeTask.PRIORITY_PRACTICE, () -> { })));
+        assertFalse(queue.offer(new JudgeTask(JudgeTask.PRIORITY_PRACTICE, () -> { })));
+        assertTrue(queue.offer(new JudgeTask(JudgeTask.PRIORITY_ASSESSMENT, () -> { })));
+        assertFalse(queue.offer(new JudgeTask(JudgeTask.PRIORITY_ASSESSMENT, () -> { })));
+    }
+}
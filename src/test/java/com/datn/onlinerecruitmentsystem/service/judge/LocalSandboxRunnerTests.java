@@ -0,0 +1,43 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalSandboxRunnerTests {
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void compilesOnceAndRunsAgainstClasses() throws Exception {
+        Files.writeString(workDir.resolve("Main.java"),
+                "public class Main { public static void main(String[] a) {"
+                        + " java.util.Scanner s = new java.util.Scanner(System.in);"
+                        + " System.out.println(s.nextInt() + s.nextInt()); } }");
+
+        try (Sandbox sandbox = new LocalSandboxRunner().acquire(workDir, new JavaLanguageRunner())) {
+            String dir = sandbox.getWorkDir();
+
+            Process compile = sandbox.compile(List.of("javac", "-d", dir + "/classes", dir + "/Main.java"));
+            assertTrue(compile.waitFor(60, TimeUnit.SECONDS));
+            assertEquals(0, compile.exitValue());
+
+            Process run = sandbox.run(List.of("java", "-cp", dir + "/classes", "Main"));
+            run.getOutputStream().write("2 3\n".getBytes(StandardCharsets.UTF_8));
+            run.getOutputStream().close();
+            String output = new String(run.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(run.waitFor(30, TimeUnit.SECONDS));
+
+            assertEquals("5", output.trim());
+        }
+    }
+}
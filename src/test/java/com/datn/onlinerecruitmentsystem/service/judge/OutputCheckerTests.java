@@ -0,0 +1,44 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import com.datn.onlinerecruitmentsystem.entity.Problem;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutputCheckerTests {
+
+    private final Problem problem = new Problem();
+
+    private boolean check(OutputChecker checker, String expected, String actual) throws IOException {
+        return checker.check(new StringReader(expected), new StringReader(actual), problem);
+    }
+
+    @Test
+    void tokenCheckerIgnoresSpacingButKeepsLines() throws IOException {
+        OutputChecker checker = new TokenOutputChecker();
+        assertTrue(check(checker, "1 2\n3\n", "  1   2 \n3\n\n\n"));
+        assertFalse(check(checker, "1 2\n3\n", "1\n2 3\n"));
+        assertFalse(check(checker, "1 2", "1 2 3"));
+        assertFalse(check(checker, "1 2", "1"));
+    }
+
+    @Test
+    void whitespaceInsensitiveCheckerIgnoresLineBreaks() throws IOException {
+        OutputChecker checker = new WhitespaceInsensitiveOutputChecker();
+        assertTrue(check(checker, "1 2\n3\n", "1\n2 3"));
+        assertFalse(check(checker, "1 2 3", "1 2 4"));
+    }
+
+    @Test
+    void floatCheckerAllowsTolerance() throws IOException {
+        OutputChecker checker = new FloatOutputChecker();
+        problem.setCheckerTolerance(1e-3);
+        assertTrue(check(checker, "3.1415 yes", "3.1419 yes"));
+        assertFalse(check(checker, "3.1415", "3.15"));
+        assertFalse(check(checker, "yes", "no"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PooledDockerSandboxRunnerTests {
+
+    private static final List<String> LANGUAGES = List.of("JAVA", "PYTHON", "CPP");
+
+    @Test
+    void splitsSpareContainersByRecentMix() {
+        Map<String, Integer> targets = PooledDockerSandboxRunner.allocate(13, 1, LANGUAGES,
+                Map.of("JAVA", 60L, "PYTHON", 30L, "CPP", 10L));
+
+        assertEquals(Map.of("JAVA", 7, "PYTHON", 4, "CPP", 2), targets);
+    }
+
+    @Test
+    void keepsOneContainerPerLanguageWithoutSubmissions() {
+        Map<String, Integer> targets = PooledDockerSandboxRunner.allocate(4, 1, LANGUAGES, Map.of("JAVA", 5L));
+
+        assertEquals(Map.of("JAVA", 2, "PYTHON", 1, "CPP", 1), targets);
+    }
+
+    @Test
+    void splitsEvenlyWhenThereIsNoMixYet() {
+        Map<String, Integer> targets = PooledDockerSandboxRunner.allocate(8, 1, LANGUAGES, Map.of());
+
+        assertEquals(8, targets.values().stream().mapToInt(Integer::intValue).sum());
+        targets.values().forEach(target -> assertTrue(target >= 2 && target <= 3));
+    }
+}
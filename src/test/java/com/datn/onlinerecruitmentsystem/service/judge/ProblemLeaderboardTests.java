@@ -0,0 +1,64 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProblemLeaderboardTests {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static ProblemLeaderboard.Entry entry(long userId, long submissionId, int runtimeMs, int minute) {
+        return new ProblemLeaderboard.Entry(userId, "user" + userId, submissionId, runtimeMs, T0.plusMinutes(minute));
+    }
+
+    @Test
+    void keepsTheBestSubmissionOfEachUser() {
+        ProblemLeaderboard leaderboard = new ProblemLeaderboard();
+        assertTrue(leaderboard.offer(entry(1, 1, 300, 0)));
+        assertTrue(leaderboard.offer(entry(2, 2, 200, 1)));
+        assertFalse(leaderboard.offer(entry(1, 3, 400, 2)));
+        assertTrue(leaderboard.offer(entry(1, 4, 100, 3)));
+        // Same runtime, submitted later: the earlier one stays
+        assertFalse(leaderboard.offer(entry(2, 5, 200, 4)));
+
+        assertEquals(2, leaderboard.size());
+        assertEquals(List.of(4L, 2L), leaderboard.top(10).stream().map(ProblemLeaderboard.Entry::getSubmissionId).toList());
+        assertEquals(1, leaderboard.rankOf(1L));
+        assertEquals(2, leaderboard.rankOf(2L));
+        assertEquals(0, leaderboard.rankOf(3L));
+
+        leaderboard.replace(1L, null);
+        assertEquals(1, leaderboard.rankOf(2L));
+        assertEquals(1, leaderboard.size());
+    }
+
+    @Test
+    void ranksMatchASortedList() {
+        ProblemLeaderboard leaderboard = new ProblemLeaderboard();
+        List<ProblemLeaderboard.Entry> best = new ArrayList<>();
+        Random random = new Random(42);
+        for (long user = 1; user <= 2000; user++) {
+            ProblemLeaderboard.Entry entry = entry(user, user, random.nextInt(50), random.nextInt(100));
+            leaderboard.offer(entry);
+            best.add(entry);
+        }
+        best.sort(ProblemLeaderboard.ORDER);
+
+        assertEquals(best.subList(0, 25), leaderboard.top(25));
+        Collections.shuffle(best, random);
+        for (ProblemLeaderboard.Entry entry : best.subList(0, 200)) {
+            List<ProblemLeaderboard.Entry> sorted = new ArrayList<>(best);
+            sorted.sort(ProblemLeaderboard.ORDER);
+            assertEquals(sorted.indexOf(entry) + 1, leaderboard.rankOf(entry.getUserId()));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.datn.onlinerecruitmentsystem.service.judge;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SampleRunnerPoolTests {
+
+    private SampleRunnerPool pool;
+
+    @BeforeEach
+    void startPool() throws Exception {
+        pool = new SampleRunnerPool();
+        ReflectionTestUtils.setField(pool, "mode", "local");
+        ReflectionTestUtils.setField(pool, "image", "eclipse-temurin:17-jdk-alpine");
+        ReflectionTestUtils.setField(pool, "poolSize", 1);
+        ReflectionTestUtils.setField(pool, "workerHeapMb", 128);
+        ReflectionTestUtils.setField(pool, "acquireTimeoutSeconds", 60L);
+        pool.init();
+    }
+
+    @AfterEach
+    void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void runsEachInputWithFreshStaticState() throws Exception {
+        SampleRunnerPool.Result result = pool.run("import java.util.*; public class Main { static int runs;"
+                        + " public static void main(String[] a) { Scanner s = new Scanner(System.in); runs++;"
+                        + " System.out.println(s.nextInt() + s.nextInt() + runs); System.exit(0); } }",
+                List.of("1 2", "3 4"), 2000, 1 << 16);
+
+        assertTrue(result.isCompiled());
+        assertEquals(SampleRunnerWorker.OK, result.getTests().get(0).getStatus());
+        assertEquals("4", result.getTests().get(0).getStdout().trim());
+        assertEquals("8", result.getTests().get(1).getStdout().trim());
+    }
+
+    @Test
+    void reportsNonZeroExitAsRuntimeError() throws Exception {
+        SampleRunnerPool.Result result = pool.run("public class Main { public static void main(String[] a) {"
+                + " System.out.println(\"partial\"); System.exit(3); } }", List.of("", ""), 2000, 1 << 16);
+
+        assertEquals(2, result.getTests().size());
+        for (SampleRunnerPool.TestOutput test : result.getTests()) {
+            assertEquals(SampleRunnerWorker.RUNTIME_ERROR, test.getStatus());
+            assertEquals("partial", test.getStdout().trim());
+            assertTrue(test.getStderr().contains("Exit code 3"));
+        }
+    }
+
+    @Test
+    void isolatesDockerWorkers() {
+        ReflectionTestUtils.setField(pool, "mode", "docker");
+        List<String> command = pool.workerCommand("sample-runner-test");
+
+        assertEquals(List.of("docker", "run", "-i", "--rm"), command.subList(0, 4));
+        for (String flag : List.of("--network=none", "--read-only", "--cap-drop=ALL", "--security-opt=no-new-privileges",
+                "-u=65534:65534")) {
+            String[] parts = flag.split("=", 2);
+            int at = command.indexOf(parts[0]);
+            assertTrue(at >= 0, flag);
+            if (parts.length == 2) {
+                assertEquals(parts[1], command.get(at + 1), flag);
+            }
+        }
+        assertTrue(command.contains("eclipse-temurin:17-jdk-alpine"));
+        assertFalse(command.stream().anyMatch(arg -> arg.contains("security.manager")));
+    }
+
+    @Test
+    void reportsCompileErrors() throws Exception {
+        SampleRunnerPool.Result result = pool.run("public class Main { int x = ; }", List.of(""), 2000, 1 << 16);
+
+        assertFalse(result.isCompiled());
+        assertTrue(result.getCompileOutput().contains("error"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.datn.onlinerecruitmentsystem.service.search;
+
+import com.datn.onlinerecruitmentsystem.entity.Job;
+import com.datn.onlinerecruitmentsystem.enums.JobStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JobFacetIndexTests {
+
+    private static Job job(long id, String location, String category, String level) {
+        Job job = new Job();
+        job.setId(id);
+        job.setLocation(location);
+        job.setCategory(category);
+        job.setLevel(level);
+        job.setWorkingTime("Full-time");
+        job.setStatus(JobStatus.OPEN);
+        return job;
+    }
+
+    @Test
+    void countsLeaveOutTheFieldsOwnFilter() {
+        JobFacetIndex index = new JobFacetIndex();
+        index.index(job(1, "Hà Nội", "IT", "Junior"));
+        index.index(job(2, "Hà Nội", "Kế toán", "Senior"));
+        index.index(job(3, "Đà Nẵng", "IT", "Junior"));
+
+        Map<String, Map<String, Integer>> counts = index.counts(null, "ha noi", null);
+        assertEquals(Map.of("Hà Nội", 2, "Đà Nẵng", 1), counts.get("location"));
+        assertEquals(Map.of("IT", 1, "Kế toán", 1), counts.get("category"));
+        assertEquals(Map.of("Junior", 1, "Senior", 1), counts.get("level"));
+
+        assertEquals(Map.of("IT", 2), index.counts(List.of(1L, 3L), null, null).get("category"));
+    }
+
+    @Test
+    void reusesSlotsAndKeepsWritesMadeDuringReconcile() {
+        JobFacetIndex index = new JobFacetIndex();
+        index.index(job(1, "Hà Nội", "IT", "Junior"));
+        Job closed = job(1, "Hà Nội", "IT", "Junior");
+        closed.setStatus(JobStatus.CLOSED);
+        index.index(closed);
+        index.index(job(2, "Huế", "IT", "Senior"));
+        assertEquals(1, index.size());
+        assertEquals(Map.of("Huế", 1), index.counts(null, null, null).get("location"));
+
+        index.beginReconcile();
+        index.index(job(3, "Cần Thơ", "IT", "Junior"));
+        int changed = index.replaceAll(List.of(new JobFacetIndex.FacetValues(4L, "Huế", "IT", "Junior", "Full-time")));
+        assertEquals(2, changed);
+        assertEquals(Map.of("Huế", 1, "Cần Thơ", 1), index.counts(null, null, null).get("location"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.datn.onlinerecruitmentsystem.service.search;
+
+import com.datn.onlinerecruitmentsystem.entity.Job;
+import com.datn.onlinerecruitmentsystem.enums.JobStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobSearchIndexTests {
+
+    private static Job job(long id, String title, String description, String location) {
+        Job job = new Job();
+        job.setId(id);
+        job.setTitle(title);
+        job.setDescription(description);
+        job.setLocation(location);
+        job.setCategory("IT");
+        job.setStatus(JobStatus.OPEN);
+        return job;
+    }
+
+    @Test
+    void foldsDiacriticsAndRanksTitleMatchesFirst() {
+        JobSearchIndex index = new JobSearchIndex();
+        index.index(job(1, "Kế toán tổng hợp", "Làm việc với phần mềm lập trình kế toán", "Hà Nội"));
+        index.index(job(2, "Lập trình viên Java", "Phát triển hệ thống", "Đà Nẵng"));
+        index.index(job(3, "Nhân viên kinh doanh", "Trình bày sản phẩm, lập kế hoạch", "Hà Nội"));
+
+        assertEquals(List.of(2L, 1L, 3L), index.search("lap trinh", null, null));
+        assertEquals(List.of(2L), index.search("LẬP TRÌNH java", null, null));
+        assertEquals(List.of(2L), index.search("lập trình", "da nang", null));
+        assertTrue(index.search("python", null, null).isEmpty());
+    }
+
+    @Test
+    void followsUpdatesAndRemovals() {
+        JobSearchIndex index = new JobSearchIndex();
+        Job job = job(1, "Backend Developer", "Java, Spring", "Hà Nội");
+        index.index(job);
+        assertEquals(List.of(1L), index.search("spring", null, null));
+
+        job.setDescription("Node.js, C++");
+        index.index(job);
+        assertTrue(index.search("spring", null, null).isEmpty());
+        assertEquals(List.of(1L), index.search("c++", null, null));
+
+        job.setStatus(JobStatus.CLOSED);
+        index.index(job);
+        assertEquals(0, index.size());
+        assertTrue(index.search("backend", null, null).isEmpty());
+    }
+}